@@ -0,0 +1,96 @@
+package com.grocerystore.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results of a run into the output directory. Latencies are recorded in microseconds
+ * and reported in milliseconds:
+ * <ul>
+ *     <li>{@code <operation>.hlog}: one histogram per second, in the HdrHistogram log format</li>
+ *     <li>{@code <operation>.hgrm}: the percentile distribution of the whole measured window,
+ *     which HdrHistogram's plotter reads</li>
+ *     <li>{@code summary.txt}: throughput and percentiles per operation, also printed</li>
+ * </ul>
+ */
+final class LatencyReport {
+
+    private final Path directory;
+    private final Map<Operation, HistogramLogWriter> logs = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+
+    LatencyReport(Path directory, OperationMix mix, long startMillis) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            if (!mix.includes(operation)) {
+                continue;
+            }
+            HistogramLogWriter log = new HistogramLogWriter(directory.resolve(operation.label() + ".hlog").toFile());
+            log.outputComment("[Latency of " + operation.label() + " in microseconds, from the intended start]");
+            log.outputLogFormatVersion();
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+            log.outputLegend();
+            logs.put(operation, log);
+            totals.put(operation, new Histogram(3));
+        }
+    }
+
+    void interval(Operation operation, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        logs.get(operation).outputIntervalHistogram(histogram);
+        totals.get(operation).add(histogram);
+    }
+
+    /**
+     * Writes the distributions and the summary, prints the summary and closes the interval logs.
+     */
+    void finish(String header, Map<Operation, Long> errors, Duration measured) throws FileNotFoundException {
+        StringBuilder summary = new StringBuilder(header).append('\n');
+        summary.append(String.format(Locale.ROOT, "%-14s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        double seconds = measured.toNanos() / 1e9;
+        for (Map.Entry<Operation, Histogram> entry : totals.entrySet()) {
+            Operation operation = entry.getKey();
+            Histogram total = entry.getValue();
+            try (PrintStream out = new PrintStream(directory.resolve(operation.label() + ".hgrm").toFile(),
+                    StandardCharsets.UTF_8)) {
+                total.outputPercentileDistribution(out, 1000.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            summary.append(String.format(Locale.ROOT, "%-14s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.label(), total.getTotalCount(), errors.getOrDefault(operation, 0L),
+                    total.getTotalCount() / seconds,
+                    millis(total, 50), millis(total, 90), millis(total, 99), millis(total, 99.9),
+                    total.getMaxValue() / 1000.0));
+            logs.get(operation).close();
+        }
+
+        System.out.print(summary);
+        try {
+            Files.writeString(directory.resolve("summary.txt"), summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Results written to " + directory.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
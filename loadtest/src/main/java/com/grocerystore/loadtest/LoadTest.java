@@ -0,0 +1,151 @@
+package com.grocerystore.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load against a running instance: requests start at a constant rate whatever the
+ * application's response times, each on its own virtual thread. Latency is measured from the
+ * moment a request was due to start, not from when it was actually sent, so a stalled server is
+ * charged for the requests it held up as well (no coordinated omission). At most
+ * {@code --max-in-flight} requests are open at once; the ones over that limit wait, and that
+ * wait counts towards their latency.
+ * <p>
+ * Usage: {@code ./gradlew :loadtest:run --args='--rate=500 --duration=2m'}; see
+ * {@link LoadTestOptions#USAGE} for all options.
+ */
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadTest(options).run();
+    }
+
+    void run() throws Exception {
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(options.timeout())
+                    .executor(clientThreads)
+                    .build();
+            Workload workload = new Workload(http, options);
+            workload.seed();
+
+            long intervalNanos = (long) (1e9 / options.rate());
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            long measureFrom = start + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+            LatencyReport report = new LatencyReport(options.output(), options.mix(),
+                    System.currentTimeMillis() + options.warmup().toMillis());
+            Semaphore inFlight = new Semaphore(options.maxInFlight());
+            Random random = new Random(options.seed());
+            long sent = 0;
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> flush(report), 1, 1, TimeUnit.SECONDS);
+            // closing the executor waits for the requests still open
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long i = 0; ; i++) {
+                    long due = start + i * intervalNanos;
+                    if (due >= end) {
+                        break;
+                    }
+                    parkUntil(due);
+                    Operation operation = options.mix().pick(random);
+                    Workload.Call call = workload.call(operation, random);
+                    boolean measured = due >= measureFrom;
+                    requests.execute(() -> send(http, call, operation, due, measured, inFlight));
+                    sent++;
+                }
+            } finally {
+                reporter.shutdown();
+                reporter.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            flush(report);
+
+            Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+            errors.forEach((operation, count) -> errorCounts.put(operation, count.get()));
+            report.finish(String.format(Locale.ROOT,
+                    "%s rate=%.0f/s warmup=%ds duration=%ds mix=%s cart-lines=%d-%d max-in-flight=%d sent=%d",
+                    options.baseUrl(), options.rate(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                    options.mix(), options.minCartLines(), options.maxCartLines(), options.maxInFlight(), sent),
+                    errorCounts, options.duration());
+        }
+    }
+
+    private void send(HttpClient http, Workload.Call call, Operation operation, long due, boolean measured,
+                      Semaphore inFlight) {
+        boolean ok = false;
+        try {
+            inFlight.acquire();
+            try {
+                HttpResponse<String> response = http.send(call.request(), HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() < 400;
+                if (ok && call.onBody() != null) {
+                    call.onBody().accept(response.body());
+                }
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // a timeout or a refused connection is an error like a 5xx; its latency still counts
+        }
+        if (measured) {
+            recorders.get(operation).recordValue(Math.max(0, (System.nanoTime() - due) / 1000));
+            if (!ok) {
+                errors.get(operation).incrementAndGet();
+            }
+        }
+    }
+
+    private synchronized void flush(LatencyReport report) {
+        recorders.forEach((operation, recorder) -> {
+            if (options.mix().includes(operation)) {
+                Histogram interval = recorder.getIntervalHistogram();
+                report.interval(operation, interval);
+            }
+        });
+    }
+
+    private static void parkUntil(long nanoTime) {
+        for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
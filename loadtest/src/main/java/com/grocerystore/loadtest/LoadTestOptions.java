@@ -0,0 +1,97 @@
+package com.grocerystore.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the load test; every option is {@code --name=value} and has a default.
+ */
+public record LoadTestOptions(
+        URI baseUrl,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        OperationMix mix,
+        int minCartLines,
+        int maxCartLines,
+        List<String> cartTypes,
+        int catalogSize,
+        int maxInFlight,
+        Duration timeout,
+        long seed,
+        Path output
+) {
+
+    static final String USAGE = """
+            Options (all --name=value):
+              --base-url       application root                         (http://localhost:8080)
+              --rate           requests started per second               (200)
+              --warmup         not measured, e.g. 10s, 1m, 500ms         (10s)
+              --duration       measured                                  (60s)
+              --mix            operation weights                         (orders=30,prices=50,catalog-read=15,catalog-write=5)
+              --cart-lines     lines per cart, min-max                   (1-10)
+              --cart-types     item types in carts                       (BEER,BREAD,VEGETABLE)
+              --catalog-size   items of each type created before the run (20)
+              --max-in-flight  requests open at once; later ones wait    (1000)
+              --timeout        per request                               (10s)
+              --seed           random seed                               (42)
+              --output         result directory                          (build/loadtest)
+            """;
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String[] cartLines = take(values, "cart-lines", "1-10").split("-");
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(take(values, "base-url", "http://localhost:8080")),
+                Double.parseDouble(take(values, "rate", "200")),
+                duration(take(values, "warmup", "10s")),
+                duration(take(values, "duration", "60s")),
+                OperationMix.parse(take(values, "mix", "orders=30,prices=50,catalog-read=15,catalog-write=5")),
+                Integer.parseInt(cartLines[0]),
+                Integer.parseInt(cartLines[cartLines.length - 1]),
+                List.of(take(values, "cart-types", "BEER,BREAD,VEGETABLE").toUpperCase().split(",")),
+                Integer.parseInt(take(values, "catalog-size", "20")),
+                Integer.parseInt(take(values, "max-in-flight", "1000")),
+                duration(take(values, "timeout", "10s")),
+                Long.parseLong(take(values, "seed", "42")),
+                Path.of(take(values, "output", "build/loadtest")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.minCartLines < 1 || options.maxCartLines < options.minCartLines
+                || options.catalogSize < 1 || options.maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, cart-lines, catalog-size and max-in-flight must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Expected a duration like 500ms, 10s or 2m, got: " + value);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.grocerystore.loadtest;
+
+/**
+ * The kinds of request the load test sends; each gets its own latency histogram.
+ */
+public enum Operation {
+
+    /** {@code POST /api/v1/orders} with a random cart. */
+    ORDER("orders"),
+    /** {@code GET /api/v1/prices}, the full price list. */
+    PRICE_LIST("prices"),
+    /** {@code GET} of one beer, bread or vegetable. */
+    CATALOG_READ("catalog-read"),
+    /** Vegetable create, price update or delete. */
+    CATALOG_WRITE("catalog-write");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Operation ofLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
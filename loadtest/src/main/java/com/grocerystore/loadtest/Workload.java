@@ -0,0 +1,200 @@
+package com.grocerystore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Seeds the catalog the run works on and builds the requests for each {@link Operation}.
+ * <p>
+ * Requests are built on the dispatching thread from its seeded {@link Random}, so two runs with
+ * the same seed send the same sequence. The one exception is deleting vegetables: only those
+ * created earlier in the run are deleted, and which of them exist depends on response timing.
+ */
+final class Workload {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String[] COUNTRIES = {"BELGIUM", "NETHERLANDS", "GERMANY"};
+
+    record Call(HttpRequest request, Consumer<String> onBody) {
+    }
+
+    private final HttpClient http;
+    private final String api;
+    private final LoadTestOptions options;
+    private final Queue<Long> createdVegetables = new ConcurrentLinkedQueue<>();
+    private final AtomicLong created = new AtomicLong();
+
+    private long[] beerIds;
+    private long[] breadIds;
+    private long[] vegetableIds;
+
+    Workload(HttpClient http, LoadTestOptions options) {
+        this.http = http;
+        this.api = options.baseUrl().toString().replaceAll("/$", "") + "/api/v1";
+        this.options = options;
+    }
+
+    /**
+     * Creates {@code catalog-size} breads and vegetables with names unique to this run, so a run
+     * does not depend on what the database already holds. The catalog allows one beer per
+     * country, so beers are only added for countries that have none; carts use all beers there are.
+     */
+    void seed() throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            HttpResponse<String> response = http.send(post("/beers", "{\"name\":\"Load beer " + run + "-" + i
+                    + "\",\"country\":\"" + COUNTRIES[i] + "\",\"price\":" + price(1 + i) + "}"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300 && response.statusCode() != 409) {
+                throw new IllegalStateException("Seeding /beers failed with " + response.statusCode() + ": "
+                        + response.body());
+            }
+        }
+        beerIds = beerIds();
+
+        int size = options.catalogSize();
+        breadIds = new long[size];
+        vegetableIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            breadIds[i] = create("/breads", "{\"name\":\"Load bread " + run + "-" + i + "\",\"bakingDate\":\""
+                    + LocalDate.now().minusDays(i % 6) + "\",\"price\":" + price(1 + i % 3) + "}");
+            vegetableIds[i] = create("/vegetables", "{\"name\":\"Load vegetable " + run + "-" + i
+                    + "\",\"pricePer100Grams\":" + price(0.5 + i % 4) + "}");
+        }
+    }
+
+    Call call(Operation operation, Random random) {
+        return switch (operation) {
+            case ORDER -> new Call(post("/orders", cart(random)), null);
+            case PRICE_LIST -> new Call(get("/prices"), null);
+            case CATALOG_READ -> catalogRead(random);
+            case CATALOG_WRITE -> catalogWrite(random);
+        };
+    }
+
+    private String cart(Random random) {
+        List<String> types = options.cartTypes();
+        int lines = options.minCartLines() + random.nextInt(options.maxCartLines() - options.minCartLines() + 1);
+        StringBuilder cart = new StringBuilder("[");
+        for (int i = 0; i < lines; i++) {
+            String type = types.get(random.nextInt(types.size()));
+            long id = pick(idsOf(type), random);
+            int amount = type.equals("VEGETABLE") ? 50 + random.nextInt(450) : 1 + random.nextInt(12);
+            cart.append(i == 0 ? "" : ",")
+                    .append("{\"type\":\"").append(type)
+                    .append("\",\"itemId\":").append(id)
+                    .append(",\"amount\":").append(amount).append('}');
+        }
+        return cart.append(']').toString();
+    }
+
+    private Call catalogRead(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> new Call(get("/beers/" + pick(beerIds, random)), null);
+            case 1 -> new Call(get("/breads/" + pick(breadIds, random)), null);
+            default -> new Call(get("/vegetables/" + pick(vegetableIds, random)), null);
+        };
+    }
+
+    /**
+     * Half of the writes reprice a seeded vegetable, the rest create a new one or delete one
+     * created earlier, so the catalog stays about the same size.
+     */
+    private Call catalogWrite(Random random) {
+        int kind = random.nextInt(4);
+        if (kind < 2) {
+            long id = pick(vegetableIds, random);
+            return new Call(put("/vegetables/" + id, "{\"name\":\"Load vegetable " + id
+                    + "\",\"pricePer100Grams\":" + price(0.5 + random.nextInt(400) / 100.0) + "}"), null);
+        }
+        Long deletable = kind == 3 ? createdVegetables.poll() : null;
+        if (deletable != null) {
+            return new Call(HttpRequest.newBuilder(uri("/vegetables/" + deletable)).DELETE()
+                    .timeout(options.timeout()).build(), null);
+        }
+        String name = "Load vegetable extra " + created.incrementAndGet();
+        return new Call(post("/vegetables", "{\"name\":\"" + name + "\",\"pricePer100Grams\":1.25}"),
+                body -> {
+                    Matcher id = ID.matcher(body);
+                    if (id.find()) {
+                        createdVegetables.add(Long.parseLong(id.group(1)));
+                    }
+                });
+    }
+
+    private long[] idsOf(String type) {
+        return switch (type) {
+            case "BEER" -> beerIds;
+            case "BREAD" -> breadIds;
+            case "VEGETABLE" -> vegetableIds;
+            default -> throw new IllegalArgumentException("Unknown item type: " + type);
+        };
+    }
+
+    private long[] beerIds() throws IOException, InterruptedException {
+        String prices = http.send(get("/prices"), HttpResponse.BodyHandlers.ofString()).body();
+        int start = prices.indexOf("\"beers\":[");
+        long[] ids = ID.matcher(prices.substring(start, prices.indexOf(']', start))).results()
+                .mapToLong(match -> Long.parseLong(match.group(1)))
+                .toArray();
+        if (ids.length == 0) {
+            throw new IllegalStateException("No beers in the catalog");
+        }
+        return ids;
+    }
+
+    private long create(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(post(path, body), HttpResponse.BodyHandlers.ofString());
+        Matcher id = ID.matcher(response.body());
+        if (response.statusCode() >= 300 || !id.find()) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": "
+                    + response.body());
+        }
+        return Long.parseLong(id.group(1));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().timeout(options.timeout()).build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .timeout(options.timeout())
+                .build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .timeout(options.timeout())
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(api + path);
+    }
+
+    private static long pick(long[] ids, Random random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static String price(double euros) {
+        return String.format(Locale.ROOT, "%.2f", euros);
+    }
+}
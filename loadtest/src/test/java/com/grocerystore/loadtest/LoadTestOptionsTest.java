@@ -0,0 +1,65 @@
+package com.grocerystore.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void testParse_noArguments_shouldUseDefaults() {
+        LoadTestOptions options = LoadTestOptions.parse();
+
+        assertEquals("http://localhost:8080", options.baseUrl().toString());
+        assertEquals(200, options.rate());
+        assertEquals(Duration.ofSeconds(10), options.warmup());
+        assertEquals(Duration.ofSeconds(60), options.duration());
+        assertEquals(1, options.minCartLines());
+        assertEquals(10, options.maxCartLines());
+        assertEquals(List.of("BEER", "BREAD", "VEGETABLE"), options.cartTypes());
+    }
+
+    @Test
+    void testParse_shouldReadEveryOption() {
+        LoadTestOptions options = LoadTestOptions.parse("--rate=1500", "--warmup=500ms", "--duration=2m",
+                "--cart-lines=100-1000", "--cart-types=beer", "--mix=orders=1");
+
+        assertEquals(1500, options.rate());
+        assertEquals(Duration.ofMillis(500), options.warmup());
+        assertEquals(Duration.ofMinutes(2), options.duration());
+        assertEquals(100, options.minCartLines());
+        assertEquals(1000, options.maxCartLines());
+        assertEquals(List.of("BEER"), options.cartTypes());
+        assertTrue(options.mix().includes(Operation.ORDER));
+        assertFalse(options.mix().includes(Operation.PRICE_LIST));
+    }
+
+    @Test
+    void testParse_unknownOption_shouldBeRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestOptions.parse("--rates=10"));
+
+        assertEquals("Unknown options: [rates]", exception.getMessage());
+    }
+
+    @Test
+    void testPick_shouldFollowTheWeights() {
+        OperationMix mix = OperationMix.parse("orders=3,prices=1,catalog-write=0");
+        Random random = new Random(1);
+
+        Map<Operation, Integer> picked = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            picked.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        assertEquals(30_000, picked.get(Operation.ORDER), 600);
+        assertEquals(10_000, picked.get(Operation.PRICE_LIST), 600);
+        assertNull(picked.get(Operation.CATALOG_WRITE));
+    }
+}
@@ -0,0 +1,185 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against a running instance: every client sends a request, waits for the
+ * answer and sends the next one. Seven in ten requests read the price list, the rest price a
+ * random cart, each client with its own fixed seed so runs are repeatable.
+ * <p>
+ * Usage: {@code java scripts/LoadClient.java <baseUrl> <clients> <warmupSeconds> <seconds> [label]}
+ */
+public class LoadClient {
+
+    private static final int CATALOG_SIZE = 20;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private static long[] beerIds;
+    private static long[] breadIds;
+    private static long[] vegetableIds;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0] + "/api/v1";
+        int clients = Integer.parseInt(args[1]);
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(args[2])).toNanos();
+        long measureNanos = Duration.ofSeconds(Long.parseLong(args[3])).toNanos();
+        String label = args.length > 4 ? args[4] : "run";
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        seedCatalog(http, baseUrl);
+        readCatalogIds(http, baseUrl);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>(clients);
+        int[] counts = new int[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1024];
+                latencies.add(samples);
+                int client = c;
+                executor.submit(() -> {
+                    Random random = new Random(client);
+                    long[] own = samples;
+                    try {
+                        while (true) {
+                            long sent = System.nanoTime();
+                            if (sent >= measureUntil) {
+                                break;
+                            }
+                            boolean ok = send(http, baseUrl, random);
+                            long received = System.nanoTime();
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            } else if (sent >= measureFrom && received <= measureUntil) {
+                                if (counts[client] == own.length) {
+                                    own = Arrays.copyOf(own, own.length * 2);
+                                    latencies.set(client, own);
+                                }
+                                own[counts[client]++] = received - sent;
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+
+        double seconds = measureNanos / 1e9;
+        System.out.printf("%-10s clients=%d requests=%d errors=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n",
+                label, clients, total, errors.get(), total / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                total == 0 ? 0 : all[total - 1] / 1e6);
+    }
+
+    private static boolean send(HttpClient http, String baseUrl, Random random) {
+        HttpRequest request;
+        if (random.nextInt(10) < 7) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/prices")).GET().build();
+        } else {
+            StringBuilder cart = new StringBuilder("[");
+            int lines = 1 + random.nextInt(10);
+            for (int i = 0; i < lines; i++) {
+                int kind = random.nextInt(3);
+                String type = kind == 0 ? "BEER" : kind == 1 ? "BREAD" : "VEGETABLE";
+                long[] ids = kind == 0 ? beerIds : kind == 1 ? breadIds : vegetableIds;
+                int amount = kind == 2 ? 50 + random.nextInt(400) : 1 + random.nextInt(12);
+                if (i > 0) {
+                    cart.append(',');
+                }
+                cart.append("{\"type\":\"").append(type)
+                        .append("\",\"itemId\":").append(ids[random.nextInt(ids.length)])
+                        .append(",\"amount\":").append(amount).append('}');
+            }
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cart.append(']').toString()))
+                    .build();
+        }
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 300;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the items the carts refer to, so the run does not depend on what is in the database.
+     * Items left over from an earlier run are rejected as duplicates, which is fine.
+     */
+    private static void seedCatalog(HttpClient http, String baseUrl) throws Exception {
+        String[] countries = {"BELGIUM", "NETHERLANDS", "GERMANY"};
+        for (int i = 1; i <= CATALOG_SIZE; i++) {
+            post(http, baseUrl + "/beers", "{\"name\":\"Load beer " + i + "\",\"country\":\""
+                    + countries[i % 3] + "\",\"price\":" + (1 + i % 5) + ".5}");
+            post(http, baseUrl + "/breads", "{\"name\":\"Load bread " + i + "\",\"bakingDate\":\""
+                    + java.time.LocalDate.now().minusDays(i % 6) + "\",\"price\":" + (1 + i % 3) + ".0}");
+            post(http, baseUrl + "/vegetables", "{\"name\":\"Load vegetable " + i + "\",\"pricePer100Grams\":"
+                    + (0.5 + i % 4) + "}");
+        }
+    }
+
+    private static void readCatalogIds(HttpClient http, String baseUrl) throws Exception {
+        String prices = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/prices")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        beerIds = idsOf(prices, "beers");
+        breadIds = idsOf(prices, "breads");
+        vegetableIds = idsOf(prices, "vegetables");
+    }
+
+    private static long[] idsOf(String prices, String section) {
+        int start = prices.indexOf("\"" + section + "\":[");
+        String items = prices.substring(start, prices.indexOf(']', start));
+        long[] ids = ID.matcher(items).results().mapToLong(match -> Long.parseLong(match.group(1))).toArray();
+        if (ids.length == 0) {
+            throw new IllegalStateException("No " + section + " in the catalog");
+        }
+        return ids;
+    }
+
+    private static void post(HttpClient http, String url, String body) throws Exception {
+        http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
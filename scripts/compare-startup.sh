@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Starts the app RUNS times in the default mode and in fast-start mode (AOT, AppCDS archive, lazy
+# initialization) and prints, per mode, the time from launching the JVM to the first placed order
+# and the resident set size right after it.
+#
+#   RUNS=5 scripts/compare-startup.sh
+#
+# The fast-start archive is built first, with a training run against the same database. Fast-start
+# mode does not create the schema, so point it at a database a default-mode instance has already
+# set up. When beer BEER_ID (default 1) does not exist, one is added on the first run.
+# Extra application arguments (e.g. another datasource) can be passed in APP_ARGS.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+APP_ARGS=${APP_ARGS:-}
+BEER_ID=${BEER_ID:-1}
+GRADLE=${GRADLE:-./gradlew}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# shellcheck disable=SC2086
+$GRADLE -q bootJar fastStartArchive ${GRADLE_ARGS:-} ${APP_ARGS:+"-PtrainingArgs=$APP_ARGS"}
+JAR=$(ls build/libs/*.jar | grep -Ev -- '-(plain|jmh)\.jar$' | head -n 1)
+FAST_JAR=build/fast-start/$(basename "$JAR")
+APP_PID=""
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+seed_beer() {
+    BEER_ID=$(curl -sf -X POST -H 'Content-Type: application/json' \
+        -d '{"name":"Startup Pils","country":"GERMANY","price":1.5}' \
+        "http://localhost:$PORT/api/v1/beers" | sed -E 's/.*"id":([0-9]+).*/\1/')
+}
+
+# sets ELAPSED_MS (launch to first order) and RSS_KB
+start_once() {
+    local label=$1
+    shift
+    local start status=""
+    start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    $JAVA "$@" --server.port="$PORT" $APP_ARGS > "build/startup-$label.log" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 12000); do
+        status=$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+            -d "[{\"type\":\"BEER\",\"itemId\":$BEER_ID,\"amount\":1}]" \
+            "http://localhost:$PORT/api/v1/orders" || true)
+        [ "$status" = 201 ] && break
+        [ "$status" = 404 ] && seed_beer
+        sleep 0.01
+    done
+    if [ "$status" != 201 ]; then
+        echo "$label: no order placed, see build/startup-$label.log" >&2
+        exit 1
+    fi
+    ELAPSED_MS=$(( ($(date +%s%N) - start) / 1000000 ))
+    RSS_KB=$(ps -o rss= -p "$APP_PID" | tr -d ' ')
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+}
+
+run() {
+    local label=$1
+    shift
+    local times=() rss=()
+    for _ in $(seq 1 "$RUNS"); do
+        start_once "$label" "$@"
+        times+=("$ELAPSED_MS")
+        rss+=("$RSS_KB")
+    done
+    local sorted_times sorted_rss
+    sorted_times=$(printf '%s\n' "${times[@]}" | sort -n)
+    sorted_rss=$(printf '%s\n' "${rss[@]}" | sort -n)
+    local middle=$(( (RUNS + 1) / 2 ))
+    printf '%-8s time to first order p50 %6d ms (min %d, max %d)   RSS p50 %4d MB\n' "$label" \
+        "$(sed -n "${middle}p" <<< "$sorted_times")" \
+        "$(head -n 1 <<< "$sorted_times")" "$(tail -n 1 <<< "$sorted_times")" \
+        $(( $(sed -n "${middle}p" <<< "$sorted_rss") / 1024 ))
+}
+
+run default -jar "$JAR"
+run fast -XX:SharedArchiveFile=build/fast-start/application.jsa -Xlog:cds=off -Dspring.aot.enabled=true \
+    -jar "$FAST_JAR" --spring.profiles.active=fast
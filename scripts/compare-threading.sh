@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Runs the same closed-loop load against the app in platform-thread and in virtual-thread mode
+# and prints one result line per mode.
+#
+#   CLIENTS=1000 WARMUP=15 DURATION=60 scripts/compare-threading.sh
+#
+# Each mode gets a fresh JVM; point it at an empty database so both runs seed the same catalog.
+# Extra application arguments (e.g. another datasource) can be passed in APP_ARGS.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${CLIENTS:-1000}
+WARMUP=${WARMUP:-15}
+DURATION=${DURATION:-60}
+PORT=${PORT:-8080}
+APP_ARGS=${APP_ARGS:-}
+GRADLE=${GRADLE:-./gradlew}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+$GRADLE -q bootJar ${GRADLE_ARGS:-}
+JAR=$(ls build/libs/*.jar | grep -Ev -- '-(plain|jmh)\.jar$' | head -n 1)
+APP_PID=""
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+run() {
+    local label=$1 profile=$2
+    # shellcheck disable=SC2086
+    $JAVA -jar "$JAR" --server.port="$PORT" ${profile:+--spring.profiles.active=$profile} $APP_ARGS \
+        > "build/load-$label.log" 2>&1 &
+    APP_PID=$!
+
+    local up=""
+    for _ in $(seq 1 120); do
+        curl -sf "http://localhost:$PORT/api/v1/prices" > /dev/null && up=1 && break
+        sleep 1
+    done
+    if [ -z "$up" ]; then
+        echo "$label: application did not start, see build/load-$label.log" >&2
+        exit 1
+    fi
+
+    $JAVA scripts/LoadClient.java "http://localhost:$PORT" "$CLIENTS" "$WARMUP" "$DURATION" "$label"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+}
+
+run platform ""
+run virtual virtual
@@ -0,0 +1,137 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Item;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.service.CatalogSnapshots;
+import com.grocerystore.service.OrderQuoteCache;
+import com.grocerystore.service.OrderService;
+import com.grocerystore.service.discount.BeerDiscount;
+import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.DiscountStrategy;
+import com.grocerystore.service.discount.VegetableDiscount;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import com.grocerystore.util.Money;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Synthetic catalog and carts shared by the benchmarks. Everything is seeded so runs are comparable.
+ */
+final class CartFixtures {
+
+    static final int ITEMS_PER_TYPE = 1_000;
+    static final PricingSnapshots PRICING_SNAPSHOTS = new PricingSnapshots(new DiscountRuleRegistry(), Clock.systemDefaultZone());
+
+    private final Map<ItemType, List<Item>> catalog = new EnumMap<>(ItemType.class);
+
+    CartFixtures() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        Country[] countries = Country.values();
+
+        List<Item> beers = new ArrayList<>(ITEMS_PER_TYPE);
+        List<Item> breads = new ArrayList<>(ITEMS_PER_TYPE);
+        List<Item> vegetables = new ArrayList<>(ITEMS_PER_TYPE);
+        for (long id = 1; id <= ITEMS_PER_TYPE; id++) {
+            Beer beer = new Beer();
+            beer.setId(id);
+            beer.setName("Beer " + id);
+            beer.setCountry(countries[random.nextInt(countries.length)]);
+            beer.setPriceCents(price(random, 100, 800));
+            beers.add(beer);
+
+            Bread bread = new Bread();
+            bread.setId(id);
+            bread.setName("Bread " + id);
+            bread.setBakingDate(today.minusDays(random.nextInt(7)));
+            bread.setPriceCents(price(random, 100, 600));
+            breads.add(bread);
+
+            Vegetable vegetable = new Vegetable();
+            vegetable.setId(id);
+            vegetable.setName("Vegetable " + id);
+            vegetable.setPricePer100GramsCents(price(random, 20, 300));
+            vegetables.add(vegetable);
+        }
+        catalog.put(ItemType.BEER, beers);
+        catalog.put(ItemType.BREAD, breads);
+        catalog.put(ItemType.VEGETABLE, vegetables);
+    }
+
+    List<OrderRequestDto> requests(CartMix mix, int lines) {
+        Random random = new Random(lines * 31L + mix.ordinal());
+        List<OrderRequestDto> requests = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            ItemType type = mix.types()[random.nextInt(mix.types().length)];
+            long id = 1 + random.nextInt(ITEMS_PER_TYPE);
+            int amount = type == ItemType.VEGETABLE ? 50 + random.nextInt(500) : 1 + random.nextInt(12);
+            requests.add(new OrderRequestDto(type, id, amount));
+        }
+        return requests;
+    }
+
+    List<OrderItemDto> items(CartMix mix, int lines) {
+        return requests(mix, lines).stream()
+                .map(dto -> new OrderItemDto(catalog.get(dto.type()).get(dto.itemId().intValue() - 1), dto.amount()))
+                .toList();
+    }
+
+    List<BeerDto> beers(int count) {
+        List<Item> beers = catalog.get(ItemType.BEER);
+        List<BeerDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Beer beer = (Beer) beers.get(i % beers.size());
+            dtos.add(new BeerDto(beer.getId(), beer.getName(), beer.getCountry(), Money.toEuros(beer.getPriceCents())));
+        }
+        return dtos;
+    }
+
+    static List<DiscountStrategy> strategies() {
+        return List.of(new BeerDiscount(PRICING_SNAPSHOTS), new BreadDiscount(PRICING_SNAPSHOTS), new VegetableDiscount(PRICING_SNAPSHOTS));
+    }
+
+    OrderService orderService() {
+        CatalogSnapshots catalogSnapshots = new CatalogSnapshots(null, null, null, new NoTransactionManager(),
+                Clock.systemDefaultZone());
+        catalog.values().forEach(items -> items.forEach(catalogSnapshots::put));
+        return new OrderService(
+                new OrderPricingEngine(strategies(), PRICING_SNAPSHOTS, PricingMetrics.disabled()),
+                catalogSnapshots, PricingMetrics.disabled(), PRICING_SNAPSHOTS, OrderQuoteCache.disabled());
+    }
+
+    private static long price(Random random, int minCents, int maxCents) {
+        return minCents + random.nextInt(maxCents - minCents + 1);
+    }
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
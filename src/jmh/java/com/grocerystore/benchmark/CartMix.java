@@ -0,0 +1,20 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.enums.ItemType;
+
+public enum CartMix {
+    BEER(ItemType.BEER),
+    BREAD(ItemType.BREAD),
+    VEGETABLE(ItemType.VEGETABLE),
+    MIXED(ItemType.BEER, ItemType.BREAD, ItemType.VEGETABLE);
+
+    private final ItemType[] types;
+
+    CartMix(ItemType... types) {
+        this.types = types;
+    }
+
+    ItemType[] types() {
+        return types;
+    }
+}
@@ -0,0 +1,44 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.service.discount.BeerDiscount;
+import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.VegetableDiscount;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class DiscountStrategyBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int lines;
+
+    @Param({"BEER", "BREAD", "VEGETABLE", "MIXED"})
+    public CartMix mix;
+
+    private final BeerDiscount beerDiscount = new BeerDiscount(CartFixtures.PRICING_SNAPSHOTS);
+    private final BreadDiscount breadDiscount = new BreadDiscount(CartFixtures.PRICING_SNAPSHOTS);
+    private final VegetableDiscount vegetableDiscount = new VegetableDiscount(CartFixtures.PRICING_SNAPSHOTS);
+    private List<OrderItemDto> items;
+
+    @Setup
+    public void setUp() {
+        items = new CartFixtures().items(mix, lines);
+    }
+
+    @Benchmark
+    public long beerDiscount() {
+        return beerDiscount.calculateTotalDiscount(items);
+    }
+
+    @Benchmark
+    public long breadDiscount() {
+        return breadDiscount.calculateTotalDiscount(items);
+    }
+
+    @Benchmark
+    public long vegetableDiscount() {
+        return vegetableDiscount.calculateTotalDiscount(items);
+    }
+}
@@ -0,0 +1,52 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class OrderPricingEngineBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int lines;
+
+    @Param({"BEER", "BREAD", "VEGETABLE", "MIXED"})
+    public CartMix mix;
+
+    private final OrderPricingEngine engine = new OrderPricingEngine(
+            CartFixtures.strategies(), CartFixtures.PRICING_SNAPSHOTS, PricingMetrics.disabled());
+    private List<OrderItemDto> items;
+
+    @Setup
+    public void setUp() {
+        items = new CartFixtures().items(mix, lines);
+    }
+
+    /**
+     * Pricing core only: load the cart into the thread's columns and fill the net column.
+     */
+    @Benchmark
+    public long priceRows() {
+        CartColumns cart = CartColumns.acquire(items, CartFixtures.PRICING_SNAPSHOTS.current());
+        try {
+            engine.priceRows(cart);
+            long total = 0;
+            for (int row = 0; row < cart.size(); row++) {
+                total += cart.netCents(row);
+            }
+            return total;
+        } finally {
+            cart.release();
+        }
+    }
+
+    @Benchmark
+    public List<OrderLineSummaryDto> price() {
+        return engine.price(items);
+    }
+}
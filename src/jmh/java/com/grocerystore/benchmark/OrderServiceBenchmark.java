@@ -0,0 +1,33 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int lines;
+
+    @Param({"BEER", "BREAD", "VEGETABLE", "MIXED"})
+    public CartMix mix;
+
+    private OrderService orderService;
+    private List<OrderRequestDto> requests;
+
+    @Setup
+    public void setUp() {
+        CartFixtures fixtures = new CartFixtures();
+        orderService = fixtures.orderService();
+        requests = fixtures.requests(mix, lines);
+    }
+
+    @Benchmark
+    public OrderSummaryDto processOrder() {
+        return orderService.processOrder(requests);
+    }
+}
@@ -0,0 +1,41 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.service.discount.DiscountStrategy;
+import com.grocerystore.util.PriceCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class PriceCalculatorBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int lines;
+
+    @Param({"BEER", "BREAD", "VEGETABLE", "MIXED"})
+    public CartMix mix;
+
+    private final List<DiscountStrategy> strategies = CartFixtures.strategies();
+    private List<OrderItemDto> items;
+    private OrderItemDto lastLine;
+
+    @Setup
+    public void setUp() {
+        items = new CartFixtures().items(mix, lines);
+        lastLine = items.getLast();
+    }
+
+    @Benchmark
+    public long calculateGrossTotal() {
+        return PriceCalculator.calculateGrossTotal(items);
+    }
+
+    /**
+     * Cost of pricing one line against the whole cart; an order pays this once per line.
+     */
+    @Benchmark
+    public long calculateNet() {
+        return lastLine.calculateNet(items, strategies, CartFixtures.PRICING_SNAPSHOTS.current());
+    }
+}
@@ -0,0 +1,75 @@
+package com.grocerystore.benchmark;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialization cost of the order and catalog payloads per wire format. Payload sizes are printed
+ * once per trial, next to the results.
+ */
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum Format {
+        JSON(() -> JsonMapper.builder().build()),
+        CBOR(() -> CBORMapper.builder().build()),
+        SMILE(() -> SmileMapper.builder().build());
+
+        private final Supplier<ObjectMapper> mapper;
+
+        Format(Supplier<ObjectMapper> mapper) {
+            this.mapper = mapper;
+        }
+    }
+
+    private static final TypeReference<List<OrderRequestDto>> REQUESTS = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    public int lines;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Format format;
+
+    private ObjectMapper mapper;
+    private OrderSummaryDto summary;
+    private List<BeerDto> beers;
+    private byte[] encodedRequests;
+
+    @Setup
+    public void setUp() {
+        CartFixtures fixtures = new CartFixtures();
+        List<OrderRequestDto> requests = fixtures.requests(CartMix.MIXED, lines);
+        mapper = format.mapper.get();
+        summary = fixtures.orderService().processOrder(requests);
+        beers = fixtures.beers(lines);
+        encodedRequests = mapper.writeValueAsBytes(requests);
+        System.out.printf("%n%s, %d lines: order request %d bytes, order summary %d bytes, beers %d bytes%n",
+                format, lines, encodedRequests.length, writeOrderSummary().length, writeBeers().length);
+    }
+
+    @Benchmark
+    public List<OrderRequestDto> readOrderRequests() {
+        return mapper.readValue(encodedRequests, REQUESTS);
+    }
+
+    @Benchmark
+    public byte[] writeOrderSummary() {
+        return mapper.writeValueAsBytes(summary);
+    }
+
+    @Benchmark
+    public byte[] writeBeers() {
+        return mapper.writeValueAsBytes(beers);
+    }
+}
@@ -0,0 +1,66 @@
+package com.grocerystore.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Asks the replica how far it is behind the primary every
+ * {@code grocery.datasource.replica.lag-check-interval}. The replica serves reads only while the
+ * last answer was at most {@code grocery.datasource.replica.max-lag}; a replica that cannot be
+ * reached counts as lagging, so reads go to the primary until it answers again.
+ */
+@Slf4j
+class ReplicaLagMonitor {
+
+    private final JdbcOperations replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReplicaLagMonitor(JdbcOperations replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("grocery.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag last reported by the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("grocery.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the read replica")
+                .register(meterRegistry);
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.datasource.replica.lag-check-interval:5s}")
+    void check() {
+        boolean usable;
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            log.debug("Replica lag check failed: {}", e.getMessage());
+        }
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica lag {}s, routing read-only transactions to the replica", lagSeconds);
+            } else {
+                log.warn("Read replica lag {}s over {}, routing read-only transactions to the primary", lagSeconds, maxLag);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,45 @@
+package com.grocerystore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs {@code db/migration-<platform>.sql} before Hibernate's {@code ddl-auto=update}, for the
+ * changes update cannot make by itself, such as a new NOT NULL column on a table that already has
+ * rows. The {@code schema-<platform>.sql} script, by contrast, runs after Hibernate.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.hibernate.ddl-auto", havingValue = "update")
+public class SchemaMigrationConfig {
+
+    static final String SCHEMA_MIGRATION = "schemaMigration";
+
+    @Bean(SCHEMA_MIGRATION)
+    public DataSourceInitializer schemaMigration(DataSource dataSource, ResourceLoader resourceLoader,
+                                                 @Value("${spring.sql.init.platform:all}") String platform) {
+        Resource script = resourceLoader.getResource("classpath:db/migration-" + platform + ".sql");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        initializer.setEnabled(script.exists());
+        return initializer;
+    }
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigration() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SCHEMA_MIGRATION);
+    }
+}
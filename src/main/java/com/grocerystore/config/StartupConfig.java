@@ -0,0 +1,21 @@
+package com.grocerystore.config;
+
+import com.grocerystore.controller.OrderController;
+import com.grocerystore.service.discount.DiscountRuleLoader;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans still created at startup when {@code spring.main.lazy-initialization} is on (the fast
+     * profile): the order path with everything it depends on, so the first order does not pay for
+     * it, and the beans whose {@code @Scheduled} jobs must run without waiting for a first request.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(OrderController.class, DiscountRuleLoader.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.grocerystore.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Binary alternatives to JSON, picked through {@code Accept} and {@code Content-Type}: CBOR
+ * ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}). Both carry the same
+ * DTOs as the JSON API, so the records and their Jackson annotations are the schema.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public SmileMapper smileMapper() {
+        return SmileMapper.builder().findAndAddModules().build();
+    }
+
+    /**
+     * Writes CBOR and Smile with the application's mappers rather than the converters' own defaults.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryMessageConverters(CBORMapper cborMapper, SmileMapper smileMapper) {
+        return converters -> converters
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+}
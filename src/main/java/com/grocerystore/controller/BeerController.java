@@ -2,14 +2,19 @@ package com.grocerystore.controller;
 
 
 import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.CatalogPageDto;
+import com.grocerystore.enums.Country;
 import com.grocerystore.service.BeerService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/beers")
@@ -17,6 +22,7 @@ import java.util.List;
 public class BeerController {
 
     private final BeerService beerService;
+    private final CatalogHttpCaching catalogHttpCaching;
 
     @PostMapping
     public ResponseEntity<BeerDto> addBeer(@RequestBody @Valid BeerDto beerDto) {
@@ -31,13 +37,28 @@ public class BeerController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BeerDto>> getAllBeers() {
-        return ResponseEntity.ok(beerService.getAllBeers());
+    public ResponseEntity<CatalogPageDto<BeerDto>> getBeers(
+            @RequestParam(required = false) Country country,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) @PositiveOrZero Double minPrice,
+            @RequestParam(required = false) @PositiveOrZero Double maxPrice,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam(defaultValue = "" + CatalogPageDto.DEFAULT_SIZE) @Min(1) @Max(CatalogPageDto.MAX_SIZE) int size,
+            WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessNotModified(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(beerService.findBeers(country, name, minPrice, maxPrice, after, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BeerDto> getBeer(@PathVariable Long id) {
-        return ResponseEntity.ok(beerService.getBeer(id));
+    public ResponseEntity<BeerDto> getBeer(@PathVariable Long id, WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessModifiedSince(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(beerService.getBeer(id));
     }
 
 
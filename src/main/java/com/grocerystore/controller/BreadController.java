@@ -1,14 +1,20 @@
 package com.grocerystore.controller;
 
 import com.grocerystore.dto.BreadDto;
+import com.grocerystore.dto.CatalogPageDto;
 import com.grocerystore.service.BreadService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/breads")
@@ -16,6 +22,7 @@ import java.util.List;
 public class BreadController {
 
     private final BreadService breadService;
+    private final CatalogHttpCaching catalogHttpCaching;
 
     @PostMapping
     public ResponseEntity<BreadDto> addBread(@RequestBody @Valid BreadDto breadDto) {
@@ -30,13 +37,29 @@ public class BreadController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BreadDto>> getAllBread() {
-        return ResponseEntity.ok(breadService.getAllBreads());
+    public ResponseEntity<CatalogPageDto<BreadDto>> getBreads(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bakedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bakedTo,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) @PositiveOrZero Double minPrice,
+            @RequestParam(required = false) @PositiveOrZero Double maxPrice,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam(defaultValue = "" + CatalogPageDto.DEFAULT_SIZE) @Min(1) @Max(CatalogPageDto.MAX_SIZE) int size,
+            WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessNotModified(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(breadService.findBreads(bakedFrom, bakedTo, name, minPrice, maxPrice, after, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BreadDto> getBread(@PathVariable Long id) {
-        return ResponseEntity.ok(breadService.getBread(id));
+    public ResponseEntity<BreadDto> getBread(@PathVariable Long id, WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessModifiedSince(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(breadService.getBread(id));
     }
 
     @DeleteMapping("/{id}")
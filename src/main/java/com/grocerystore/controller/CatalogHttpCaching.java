@@ -0,0 +1,80 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.service.CatalogSnapshots;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Conditional GETs for catalog reads. The strong ETag is the catalog version, which every write
+ * through the item services bumps, and the version doubles as the Last-Modified time; a request
+ * whose validator still matches gets a 304 before any query runs or anything is serialized.
+ * <p>
+ * Versions are per instance, so a copy fetched from another instance is simply sent again. A
+ * write made through another instance only changes the ETag here once the catalog reload picks
+ * it up ({@code grocery.catalog.refresh-interval}).
+ * <p>
+ * With a read replica, a response built within {@code grocery.datasource.replica.max-lag} of a
+ * change may come from a replica that has not replayed it yet; such responses carry no validators,
+ * so an outdated copy is never confirmed as current.
+ */
+@Component
+public class CatalogHttpCaching {
+
+    private final CatalogSnapshots catalogSnapshots;
+    private final Clock clock;
+    private final Duration settleTime;
+
+    @Autowired
+    public CatalogHttpCaching(CatalogSnapshots catalogSnapshots,
+                              Clock clock,
+                              @Value("${grocery.datasource.replica.url:}") String replicaUrl,
+                              @Value("${grocery.datasource.replica.max-lag:5s}") Duration replicaMaxLag) {
+        this(catalogSnapshots, clock, replicaUrl.isEmpty() ? Duration.ZERO : replicaMaxLag);
+    }
+
+    CatalogHttpCaching(CatalogSnapshots catalogSnapshots, Clock clock, Duration settleTime) {
+        this.catalogSnapshots = catalogSnapshots;
+        this.clock = clock;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * A 200 builder, the current ETag already set on the response, or null when the request's
+     * {@code If-None-Match} matches it and the response has already been turned into a 304.
+     */
+    public ResponseEntity.BodyBuilder okUnlessNotModified(WebRequest request) {
+        return okUnlessNotModified(request, false);
+    }
+
+    /**
+     * Like {@link #okUnlessNotModified(WebRequest)}, also answering {@code If-Modified-Since}
+     * and sending {@code Last-Modified}.
+     */
+    public ResponseEntity.BodyBuilder okUnlessModifiedSince(WebRequest request) {
+        return okUnlessNotModified(request, true);
+    }
+
+    private ResponseEntity.BodyBuilder okUnlessNotModified(WebRequest request, boolean lastModified) {
+        // read before the query runs: the content can then only be newer than the version it is tagged with
+        long version = catalogSnapshots.current().version();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                // JSON, CBOR or Smile, whichever the client asks for
+                .varyBy(HttpHeaders.ACCEPT);
+        if (clock.millis() - version < settleTime.toMillis()) {
+            return ok;
+        }
+        // sets ETag and Last-Modified on the response whether or not the client's copy is current
+        String eTag = "\"" + version + "\"";
+        boolean notModified = lastModified ? request.checkNotModified(eTag, version) : request.checkNotModified(eTag);
+        return notModified ? null : ok;
+    }
+}
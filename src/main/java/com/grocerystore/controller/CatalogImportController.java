@@ -0,0 +1,29 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.dto.CatalogImportResultDto;
+import com.grocerystore.service.catalogimport.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/catalog/import")
+@RequiredArgsConstructor
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<CatalogImportResultDto> importNdjson(InputStream body) {
+        return ResponseEntity.ok(catalogImportService.importNdjson(body));
+    }
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<CatalogImportResultDto> importCsv(InputStream body) {
+        return ResponseEntity.ok(catalogImportService.importCsv(body));
+    }
+}
@@ -0,0 +1,82 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.exception.InvalidContentDigestException;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * The {@code sha-256} entry of a {@code Content-Digest} header (RFC 9530), e.g.
+ * {@code sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:}. Other algorithms in the header
+ * are ignored. The body is checked against it as it is read, see {@link #verifying(InputStream)}.
+ */
+final class ContentDigest {
+
+    static final String HEADER = "Content-Digest";
+
+    private static final String SHA_256 = "sha-256";
+    private static final int SHA_256_LENGTH = 32;
+
+    private final byte[] expected;
+    private final MessageDigest digest;
+
+    private ContentDigest(byte[] expected) {
+        this.expected = expected;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static ContentDigest parse(String header) {
+        if (header == null || header.isBlank()) {
+            throw new InvalidContentDigestException(HEADER + " with a sha-256 digest of the body is required with an Idempotency-Key");
+        }
+        for (String member : header.split(",")) {
+            int equals = member.indexOf('=');
+            if (equals < 0 || !member.substring(0, equals).trim().equalsIgnoreCase(SHA_256)) {
+                continue;
+            }
+            String value = member.substring(equals + 1).trim();
+            if (value.length() < 2 || value.charAt(0) != ':' || value.charAt(value.length() - 1) != ':') {
+                throw new InvalidContentDigestException(HEADER + " sha-256 value must be a byte sequence, :base64:");
+            }
+            byte[] expected;
+            try {
+                expected = Base64.getDecoder().decode(value.substring(1, value.length() - 1));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidContentDigestException(HEADER + " sha-256 value is not valid base64");
+            }
+            if (expected.length != SHA_256_LENGTH) {
+                throw new InvalidContentDigestException(HEADER + " sha-256 value must be 32 bytes");
+            }
+            return new ContentDigest(expected);
+        }
+        throw new InvalidContentDigestException(HEADER + " has no sha-256 digest");
+    }
+
+    /**
+     * The declared digest in hex, as the request hash of an idempotency key.
+     */
+    String hash() {
+        return HexFormat.of().formatHex(expected);
+    }
+
+    /**
+     * {@code body}, digested as it is read; call {@link #verify()} once it has been read to the end.
+     */
+    InputStream verifying(InputStream body) {
+        return new DigestInputStream(body, digest);
+    }
+
+    void verify() {
+        if (!MessageDigest.isEqual(expected, digest.digest())) {
+            throw new InvalidContentDigestException(HEADER + " does not match the request body");
+        }
+    }
+}
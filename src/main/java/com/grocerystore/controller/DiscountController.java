@@ -1,9 +1,13 @@
 package com.grocerystore.controller;
 
+import com.grocerystore.dto.DiscountRulesDto;
+import com.grocerystore.service.discount.DiscountRuleLoader;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
 import com.grocerystore.service.discount.DiscountStrategy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +19,8 @@ import java.util.List;
 public class DiscountController {
 
     private final List<DiscountStrategy> discountStrategies;
+    private final DiscountRuleRegistry discountRuleRegistry;
+    private final DiscountRuleLoader discountRuleLoader;
 
     @GetMapping
     public ResponseEntity<List<String>> getDiscountRules() {
@@ -23,4 +29,14 @@ public class DiscountController {
                 .toList();
         return ResponseEntity.ok(rules);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/rules")
+    public ResponseEntity<DiscountRulesDto> getActiveRules() {
+        return ResponseEntity.ok(DiscountRulesDto.of(discountRuleRegistry.current()));
+    }
+
+    @PostMapping("/rules/reload")
+    public ResponseEntity<DiscountRulesDto> reloadRules() {
+        return ResponseEntity.ok(DiscountRulesDto.of(discountRuleLoader.reload()));
+    }
+}
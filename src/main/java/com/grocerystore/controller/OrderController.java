@@ -1,29 +1,99 @@
 package com.grocerystore.controller;
 
+import com.grocerystore.dto.CartRequestDto;
+import com.grocerystore.dto.CartResultDto;
 import com.grocerystore.dto.OrderRequestDto;
 import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.service.OrderBatchService;
+import com.grocerystore.service.OrderIdempotencyStore;
 import com.grocerystore.service.OrderService;
+import com.grocerystore.service.OrderStreamService;
+import com.grocerystore.service.OrderWriteBehindQueue;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
+    private final OrderBatchService orderBatchService;
+    private final OrderWriteBehindQueue orderWriteBehindQueue;
+    private final OrderIdempotencyStore orderIdempotencyStore;
 
+    /**
+     * With an {@code Idempotency-Key} the order is placed once; retries get the first response
+     * with {@code Idempotent-Replayed: true}.
+     */
     @PostMapping
-    public ResponseEntity<OrderSummaryDto> processOrder(@RequestBody @Valid List<OrderRequestDto> orderRequestDtos) {
-        OrderSummaryDto created = orderService.processOrder(orderRequestDtos);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<OrderSummaryDto> processOrder(
+            @RequestBody @Valid List<OrderRequestDto> orderRequestDtos,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) @Size(min = 1, max = 255) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(placeOrder(orderRequestDtos));
+        }
+
+        OrderIdempotencyStore.Outcome outcome = orderIdempotencyStore.execute(
+                idempotencyKey, orderRequestDtos, () -> placeOrder(orderRequestDtos));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(outcome.order());
+    }
+
+    /**
+     * The same order as NDJSON, one {@code OrderRequestDto} per line, for carts too large to bind
+     * as one array; the lines are priced as they are read. With an {@code Idempotency-Key} the
+     * body's {@code Content-Digest} is required and binds the key to the body.
+     */
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<OrderSummaryDto> processOrderStream(
+            InputStream body,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) @Size(min = 1, max = 255) String idempotencyKey,
+            @RequestHeader(name = ContentDigest.HEADER, required = false) String contentDigest) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(enqueue(orderStreamService.processOrder(body)));
+        }
+
+        // the key is claimed before the body is read: a retry is replayed without reading it
+        ContentDigest digest = ContentDigest.parse(contentDigest);
+        OrderIdempotencyStore.Outcome outcome = orderIdempotencyStore.execute(idempotencyKey, digest.hash(), () -> {
+            OrderSummaryDto order = orderStreamService.processOrder(digest.verifying(body));
+            digest.verify();
+            return enqueue(order);
+        });
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(outcome.order());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<CartResultDto>> processBatch(@RequestBody @Valid List<CartRequestDto> carts) {
+        return ResponseEntity.ok(orderBatchService.processBatch(carts));
+    }
+
+    private OrderSummaryDto placeOrder(List<OrderRequestDto> items) {
+        return enqueue(orderService.processOrder(items));
+    }
+
+    private OrderSummaryDto enqueue(OrderSummaryDto created) {
+        orderWriteBehindQueue.enqueue(created);
+        return created;
     }
 
 }
\ No newline at end of file
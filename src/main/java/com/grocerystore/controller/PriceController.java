@@ -1,31 +1,33 @@
 package com.grocerystore.controller;
 
-import com.grocerystore.service.BeerService;
-import com.grocerystore.service.BreadService;
-import com.grocerystore.service.VegetableService;
+import com.grocerystore.service.PriceListService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/prices")
 @RequiredArgsConstructor
 public class PriceController {
 
-    private final BeerService beerService;
-    private final BreadService breadService;
-    private final VegetableService vegetableService;
+    private final PriceListService priceListService;
+    private final CatalogHttpCaching catalogHttpCaching;
+    private final StreamingFormats streamingFormats;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllPrices() {
-        return ResponseEntity.ok(Map.of(
-                "beers", beerService.getAllBeers(),
-                "breads", breadService.getAllBreads(),
-                "vegetables", vegetableService.getAllVegetables()
-        ));
+    public ResponseEntity<StreamingResponseBody> getAllPrices(WebRequest request) throws HttpMediaTypeNotAcceptableException {
+        StreamingFormats.Format format = streamingFormats.negotiate(request);
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessNotModified(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok
+                .contentType(format.mediaType())
+                .body(out -> priceListService.writePriceList(out, format.mapper()));
     }
 }
@@ -0,0 +1,64 @@
+package com.grocerystore.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Content negotiation for endpoints that write their body themselves through a
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody} and so bypass
+ * the message converters: picks the mapper for the best type the client accepts, JSON unless it
+ * asks for CBOR or Smile.
+ */
+@Component
+public class StreamingFormats {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    public record Format(MediaType mediaType, ObjectMapper mapper) {
+    }
+
+    private final List<Format> formats;
+
+    public StreamingFormats(ObjectMapper objectMapper, CBORMapper cborMapper, SmileMapper smileMapper) {
+        // JSON first: it is what "*/*" and a missing Accept header get
+        this.formats = List.of(
+                new Format(MediaType.APPLICATION_JSON, objectMapper),
+                new Format(MediaType.APPLICATION_CBOR, cborMapper),
+                new Format(APPLICATION_SMILE, smileMapper));
+    }
+
+    public Format negotiate(WebRequest request) throws HttpMediaTypeNotAcceptableException {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return formats.getFirst();
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(List.of(accept)));
+        } catch (IllegalArgumentException e) {
+            throw new HttpMediaTypeNotAcceptableException(e.getMessage());
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Format format : formats) {
+                if (type.includes(format.mediaType())) {
+                    return format;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(formats.stream().map(Format::mediaType).toList());
+    }
+}
@@ -1,20 +1,25 @@
 package com.grocerystore.controller;
 
 import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.dto.CatalogPageDto;
 import com.grocerystore.service.VegetableService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/vegetables")
 @RequiredArgsConstructor
 public class VegetableController {
     private final VegetableService vegetableService;
+    private final CatalogHttpCaching catalogHttpCaching;
 
     @PostMapping
     public ResponseEntity<VegetableDto> addVegetable(@RequestBody @Valid VegetableDto vegetableDto) {
@@ -29,13 +34,27 @@ public class VegetableController {
     }
 
     @GetMapping
-    public ResponseEntity<List<VegetableDto>> getAllVegetables() {
-        return ResponseEntity.ok(vegetableService.getAllVegetables());
+    public ResponseEntity<CatalogPageDto<VegetableDto>> getVegetables(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) @PositiveOrZero Double minPrice,
+            @RequestParam(required = false) @PositiveOrZero Double maxPrice,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam(defaultValue = "" + CatalogPageDto.DEFAULT_SIZE) @Min(1) @Max(CatalogPageDto.MAX_SIZE) int size,
+            WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessNotModified(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(vegetableService.findVegetables(name, minPrice, maxPrice, after, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<VegetableDto> getVegetable(@PathVariable Long id) {
-        return ResponseEntity.ok(vegetableService.getVegetable(id));
+    public ResponseEntity<VegetableDto> getVegetable(@PathVariable Long id, WebRequest request) {
+        ResponseEntity.BodyBuilder ok = catalogHttpCaching.okUnlessModifiedSince(request);
+        if (ok == null) {
+            return null;
+        }
+        return ok.body(vegetableService.getVegetable(id));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,11 @@
+package com.grocerystore.dto;
+
+public record CacheRegionStatisticsDto(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        long evictionCount,
+        long elementCount
+) {
+}
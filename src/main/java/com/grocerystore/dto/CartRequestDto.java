@@ -0,0 +1,12 @@
+package com.grocerystore.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record CartRequestDto(
+        String cartId,
+        @NotEmpty List<@Valid OrderRequestDto> items
+) {
+}
@@ -0,0 +1,22 @@
+package com.grocerystore.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.grocerystore.exception.ApiException;
+
+/**
+ * Outcome of one cart of a batch: either its summary or the error that pricing it raised.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CartResultDto(
+        String cartId,
+        OrderSummaryDto summary,
+        ApiException error
+) {
+    public static CartResultDto priced(String cartId, OrderSummaryDto summary) {
+        return new CartResultDto(cartId, summary, null);
+    }
+
+    public static CartResultDto failed(String cartId, ApiException error) {
+        return new CartResultDto(cartId, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.grocerystore.dto;
+
+/**
+ * A rejected import row: its 1-based line in the uploaded file and why it was rejected.
+ */
+public record CatalogImportErrorDto(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,14 @@
+package com.grocerystore.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a catalog import. {@code errors} lists the first rejected rows only; {@code rejected}
+ * counts all of them.
+ */
+public record CatalogImportResultDto(
+        long imported,
+        long rejected,
+        List<CatalogImportErrorDto> errors
+) {
+}
@@ -0,0 +1,31 @@
+package com.grocerystore.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a catalog listing. {@code nextCursor} is the id to pass as {@code after} for the
+ * next page and is left out on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CatalogPageDto<T>(
+        List<T> items,
+        Long nextCursor
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    /**
+     * Builds the page from a query that fetched one row more than {@code size}; that extra row
+     * only tells whether a next page exists.
+     */
+    public static <T> CatalogPageDto<T> of(List<T> rows, int size, ToLongFunction<T> idOf) {
+        if (rows.size() <= size) {
+            return new CatalogPageDto<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CatalogPageDto<>(items, idOf.applyAsLong(items.getLast()));
+    }
+}
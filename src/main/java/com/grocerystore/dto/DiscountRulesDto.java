@@ -0,0 +1,15 @@
+package com.grocerystore.dto;
+
+import com.grocerystore.service.discount.DiscountRules;
+
+import java.util.List;
+
+public record DiscountRulesDto(
+        List<DiscountRules.BeerPack> beerPacks,
+        List<DiscountRules.BreadAgeTier> breadAgeTiers,
+        List<DiscountRules.VegetableWeightTier> vegetableWeightTiers
+) {
+    public static DiscountRulesDto of(DiscountRules rules) {
+        return new DiscountRulesDto(rules.beerPacks(), rules.breadAgeTiers(), rules.vegetableWeightTiers());
+    }
+}
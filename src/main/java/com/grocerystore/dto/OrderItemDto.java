@@ -5,11 +5,10 @@ import com.grocerystore.model.Bread;
 import com.grocerystore.model.Item;
 import com.grocerystore.model.Vegetable;
 import com.grocerystore.service.discount.DiscountStrategy;
-import com.grocerystore.util.PriceCalculator;
-import com.grocerystore.service.discount.VegetableDiscount;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.PricingSnapshot;
 
 import java.util.List;
-import java.util.Objects;
 
 public record OrderItemDto(
         Item item,
@@ -25,37 +24,22 @@ public record OrderItemDto(
     }
 
     /**
-     * Calculate net for this line using strategies.
-     * Vegetable discount is handled separately in its strategy using allItems.
+     * Calculate net in cents of this item's line in allItems, after duplicate lines of the item are
+     * merged. Pricing a whole order this way is quadratic; use OrderPricingEngine for that.
      */
-    public double calculateNet(List<OrderItemDto> allItems, List<DiscountStrategy> discounts) {
-        double gross = PriceCalculator.calculateGrossTotal(List.of(this));
-
-        // Vegetable discount uses total weight of vegetables
-        DiscountStrategy vegStrategy = discounts.stream()
-                .filter(ds -> ds instanceof VegetableDiscount)
-                .findFirst()
-                .orElse(null);
-
-        if (Objects.nonNull(vegStrategy) && item instanceof Vegetable) {
-            double totalVegGross = allItems.stream()
-                    .filter(i -> i.item() instanceof Vegetable)
-                    .mapToDouble(i -> i.item().basePrice() * i.amount() / 100.0)
-                    .sum();
-
-            double vegDiscount = vegStrategy.calculateTotalDiscount(allItems);
-            double proportion = gross / totalVegGross;
-
-            return gross - vegDiscount * proportion;
+    public long calculateNet(List<OrderItemDto> allItems, List<DiscountStrategy> discounts, PricingSnapshot snapshot) {
+        CartColumns cart = CartColumns.of(allItems, snapshot);
+        int row = cart.rowOf(item);
+        if (row < 0) {
+            throw new IllegalArgumentException("Line is not part of the order");
         }
 
-        // For other items, apply line-level discounts
-        double discount = discounts.stream()
-                .filter(ds -> !(ds instanceof VegetableDiscount))
-                .mapToDouble(ds -> ds.discountPerItem(this))
+        long discount = discounts.stream()
+                .filter(ds -> ds.itemType() == item.itemType())
+                .mapToLong(ds -> ds.discountForRow(cart, row))
                 .sum();
 
-        return gross - discount;
+        return cart.grossCents(row) - discount;
     }
 
 }
\ No newline at end of file
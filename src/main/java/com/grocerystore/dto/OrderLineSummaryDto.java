@@ -1,7 +1,15 @@
 package com.grocerystore.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.grocerystore.util.Money;
+
 public record OrderLineSummaryDto(
         String description,
-        double total
+        @JsonIgnore long totalCents
 ) {
-}
\ No newline at end of file
+    @JsonProperty("total")
+    public double total() {
+        return Money.toEuros(totalCents);
+    }
+}
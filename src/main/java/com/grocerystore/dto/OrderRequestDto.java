@@ -1,11 +1,21 @@
 package com.grocerystore.dto;
 
 import com.grocerystore.enums.ItemType;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public record OrderRequestDto(
         @NotNull ItemType type,
         @NotNull Long itemId,
-        @NotNull int amount
+        @NotNull
+        @Positive
+        @Max(value = OrderRequestDto.MAX_AMOUNT, message = "Amount cannot exceed " + OrderRequestDto.MAX_AMOUNT)
+        int amount
 ) {
+    /**
+     * Most units, or grams for vegetables, of one item in an order, also after repeated lines of
+     * the item are merged; keeps every cent figure of a line and of the order well inside a long.
+     */
+    public static final int MAX_AMOUNT = 1_000_000;
 }
@@ -1,10 +1,18 @@
 package com.grocerystore.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.grocerystore.util.Money;
+
 import java.util.List;
 
 public record OrderSummaryDto(
         List<OrderLineSummaryDto> lines,
-        double total
+        @JsonIgnore long totalCents,
+        long catalogVersion
 ) {
+    @JsonProperty("total")
+    public double total() {
+        return Money.toEuros(totalCents);
+    }
 }
-
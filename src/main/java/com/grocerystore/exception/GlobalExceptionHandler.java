@@ -2,12 +2,20 @@ package com.grocerystore.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +34,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiException> handleMethodValidationException(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String prefix = result.getContainerIndex() != null
+                    ? "[" + result.getContainerIndex() + "]"
+                    : result.getMethodParameter().getParameterName();
+            result.getResolvableErrors().forEach(e -> errors.put(
+                    e instanceof FieldError fieldError ? prefix + "." + fieldError.getField() : prefix,
+                    e.getDefaultMessage()));
+        }
+
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST, errors);
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiException> handleNotFoundException(NotFoundException ex) {
         ApiException error = new ApiException(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -40,6 +64,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(OrderBacklogFullException.class)
+    public ResponseEntity<ApiException> handleOrderBacklogFullException(OrderBacklogFullException ex) {
+        ApiException error = new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiException> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ApiException error = new ApiException(HttpStatus.UNPROCESSABLE_CONTENT, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(error);
+    }
+
+    @ExceptionHandler(InvalidContentDigestException.class)
+    public ResponseEntity<ApiException> handleInvalidContentDigestException(InvalidContentDigestException ex) {
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ApiException> handleInvalidImportFileException(InvalidImportFileException ex) {
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidOrderLineException.class)
+    public ResponseEntity<ApiException> handleInvalidOrderLineException(InvalidOrderLineException ex) {
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiException> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
         ApiException error = new ApiException(HttpStatus.CONFLICT, "Resource already exists.");
@@ -59,6 +113,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ApiException> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        ApiException error = new ApiException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Supported content types: " + MediaType.toString(ex.getSupportedMediaTypes()));
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        // no body: the client accepts none of the types one could be written in
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiException> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST,
+                Map.of(ex.getName(), "Invalid value: " + ex.getValue()));
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiException> handleGlobalException(Exception ex) {
         log.error("Unhandled exception occurred", ex);
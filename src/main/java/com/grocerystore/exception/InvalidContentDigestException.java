@@ -0,0 +1,11 @@
+package com.grocerystore.exception;
+
+/**
+ * A {@code Content-Digest} header is missing, cannot be read or does not match the request body.
+ */
+public class InvalidContentDigestException extends RuntimeException {
+
+    public InvalidContentDigestException(String message) {
+        super(message);
+    }
+}
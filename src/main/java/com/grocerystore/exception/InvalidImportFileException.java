@@ -0,0 +1,12 @@
+package com.grocerystore.exception;
+
+/**
+ * The import file as a whole cannot be read, e.g. a CSV file without a usable header; single bad
+ * rows are reported in the import result instead.
+ */
+public class InvalidImportFileException extends RuntimeException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.grocerystore.exception;
+
+/**
+ * A line of an order sent as NDJSON cannot be read or is not a valid order line.
+ */
+public class InvalidOrderLineException extends RuntimeException {
+
+    public InvalidOrderLineException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.grocerystore.exception;
+
+public class OrderBacklogFullException extends RuntimeException {
+
+    public OrderBacklogFullException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,20 @@
 package com.grocerystore.model;
 
 import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "beer")
+@Table(name = "beer", indexes = {
+        @Index(name = "idx_beer_country_id", columnList = "country, id"),
+        @Index(name = "idx_beer_price_id", columnList = "price_cents, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "beer")
 @Getter
 @Setter
 public class Beer implements Item {
@@ -22,12 +30,17 @@ public class Beer implements Item {
     @Column(nullable = false, length = 50)
     private Country country;
 
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_cents", nullable = false)
+    private long priceCents;
 
     @Override
-    public Double basePrice() {
-        return price;
+    public ItemType itemType() {
+        return ItemType.BEER;
+    }
+
+    @Override
+    public long basePriceCents() {
+        return priceCents;
     }
 
     @Override
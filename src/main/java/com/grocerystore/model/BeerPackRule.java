@@ -0,0 +1,27 @@
+package com.grocerystore.model;
+
+import com.grocerystore.enums.Country;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "beer_pack_rule")
+@Getter
+@Setter
+public class BeerPackRule {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, unique = true, length = 50)
+    private Country country;
+
+    @Column(nullable = false)
+    private int packSize;
+
+    @Column(name = "discount_cents", nullable = false)
+    private long discountCents;
+}
@@ -1,33 +1,51 @@
 package com.grocerystore.model;
 
+import com.grocerystore.enums.ItemType;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bread")
+@Table(name = "bread", indexes = {
+        @Index(name = "idx_bread_baking_date_id", columnList = "bakingDate, id"),
+        @Index(name = "idx_bread_price_id", columnList = "price_cents, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bread")
 @Getter
 @Setter
 public class Bread implements Item {
 
+    /**
+     * Bread older than this many days cannot be sold.
+     */
+    public static final int MAX_SELLABLE_AGE_DAYS = 6;
+
     @Id
     @GeneratedValue
     private Long id;
 
     private String name;
 
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_cents", nullable = false)
+    private long priceCents;
 
     @Column(nullable = false)
     private LocalDate bakingDate;
 
 
     @Override
-    public Double basePrice() {
-        return price;
+    public ItemType itemType() {
+        return ItemType.BREAD;
+    }
+
+    @Override
+    public long basePriceCents() {
+        return priceCents;
     }
 
     @Override
@@ -0,0 +1,25 @@
+package com.grocerystore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "bread_age_tier_rule")
+@Getter
+@Setter
+public class BreadAgeTierRule {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private int maxAgeDays;
+
+    @Column(nullable = false)
+    private int groupSize;
+
+    @Column(nullable = false)
+    private int freePerGroup;
+}
@@ -0,0 +1,48 @@
+package com.grocerystore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Response of an order placed with an {@code Idempotency-Key}, kept so a retry gets the same
+ * answer after a restart. Records are written once and never updated.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Getter
+@Setter
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    /**
+     * Always new, so saving inserts straight away instead of looking the key up first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,7 +1,13 @@
 package com.grocerystore.model;
 
+import com.grocerystore.enums.ItemType;
+
 public interface Item {
-    public Double basePrice();
+    public Long getId();
+
+    public ItemType itemType();
+
+    public long basePriceCents();
 
     public String getName();
 
@@ -0,0 +1,41 @@
+package com.grocerystore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orders")
+@Getter
+@Setter
+public class Order {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant placedAt;
+
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    // version of the catalog the order was priced against; null for orders stored before it was recorded
+    @Column(name = "catalog_version")
+    private Long catalogVersion;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
+    @OrderBy("lineNumber")
+    private List<OrderLine> lines = new ArrayList<>();
+
+    public void addLine(OrderLine line) {
+        line.setOrder(this);
+        line.setLineNumber(lines.size() + 1);
+        lines.add(line);
+    }
+}
@@ -1,11 +1,18 @@
 package com.grocerystore.model;
 
+import com.grocerystore.enums.ItemType;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "vegetable")
+@Table(name = "vegetable", indexes = {
+        @Index(name = "idx_vegetable_price_id", columnList = "price_per_100_grams_cents, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vegetable")
 @Getter
 @Setter
 public class Vegetable implements Item {
@@ -15,12 +22,17 @@ public class Vegetable implements Item {
 
     private String name;
 
-    @Column(nullable = false)
-    private Double pricePer100Grams;
+    @Column(name = "price_per_100_grams_cents", nullable = false)
+    private long pricePer100GramsCents;
 
     @Override
-    public Double basePrice() {
-        return pricePer100Grams;
+    public ItemType itemType() {
+        return ItemType.VEGETABLE;
+    }
+
+    @Override
+    public long basePriceCents() {
+        return pricePer100GramsCents;
     }
 
     @Override
@@ -0,0 +1,25 @@
+package com.grocerystore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "vegetable_weight_tier_rule")
+@Getter
+@Setter
+public class VegetableWeightTierRule {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * Upper bound in grams, inclusive; null for the open-ended top tier.
+     */
+    @Column(unique = true)
+    private Integer maxGrams;
+
+    @Column(nullable = false)
+    private int rateBasisPoints;
+}
@@ -0,0 +1,7 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.model.BeerPackRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BeerPackRuleRepository extends JpaRepository<BeerPackRule, Long> {
+}
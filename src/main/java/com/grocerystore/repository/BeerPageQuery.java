@@ -0,0 +1,16 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.enums.Country;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+public interface BeerPageQuery {
+
+    /**
+     * Keyset page: beers with an id above {@code afterId}, in id order; null filters are left out of the query.
+     */
+    List<BeerDto> findPage(long afterId, Country country, String namePattern,
+                           Long minPriceCents, Long maxPriceCents, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.model.Beer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class BeerPageQueryImpl implements BeerPageQuery {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BeerDto> findPage(long afterId, Country country, String namePattern,
+                                  Long minPriceCents, Long maxPriceCents, Limit limit) {
+        return new KeysetPage<>(entityManager, Beer.class, BeerDto.class, afterId)
+                .equal("country", country)
+                .like("name", namePattern)
+                .atLeast("priceCents", minPriceCents)
+                .atMost("priceCents", maxPriceCents)
+                .list((cb, b) -> cb.construct(BeerDto.class,
+                        b.get("id"), b.get("name"), b.get("country"), cb.quot(b.<Long>get("priceCents"), 100.0)), limit);
+    }
+}
@@ -1,11 +1,43 @@
 package com.grocerystore.repository;
 
+import com.grocerystore.dto.BeerDto;
 import com.grocerystore.enums.Country;
 import com.grocerystore.model.Beer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerPageQuery {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "beer-by-country")
+    })
     Beer findByCountry(Country country);
 
+    @Query("select distinct b.country from Beer b")
+    List<Country> findCountries();
+
+    /**
+     * Price list rows straight from a JDBC cursor; must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.grocerystore.dto.BeerDto(b.id, b.name, b.country, b.priceCents / 100.0) from Beer b order by b.id")
+    Stream<BeerDto> streamPriceList();
+
+    /**
+     * The beer as its DTO, read without a managed entity, dirty-checking snapshot or flush.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.grocerystore.dto.BeerDto(b.id, b.name, b.country, b.priceCents / 100.0) from Beer b where b.id = :id")
+    Optional<BeerDto> findDtoById(long id);
 }
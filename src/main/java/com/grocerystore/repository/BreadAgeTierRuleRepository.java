@@ -0,0 +1,7 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.model.BreadAgeTierRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BreadAgeTierRuleRepository extends JpaRepository<BreadAgeTierRule, Long> {
+}
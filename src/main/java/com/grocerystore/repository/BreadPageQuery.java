@@ -0,0 +1,16 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.BreadDto;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BreadPageQuery {
+
+    /**
+     * Keyset page: breads with an id above {@code afterId}, in id order; null filters are left out of the query.
+     */
+    List<BreadDto> findPage(long afterId, LocalDate bakedFrom, LocalDate bakedTo, String namePattern,
+                            Long minPriceCents, Long maxPriceCents, Limit limit);
+}
@@ -0,0 +1,29 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.BreadDto;
+import com.grocerystore.model.Bread;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BreadPageQueryImpl implements BreadPageQuery {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BreadDto> findPage(long afterId, LocalDate bakedFrom, LocalDate bakedTo, String namePattern,
+                                   Long minPriceCents, Long maxPriceCents, Limit limit) {
+        return new KeysetPage<>(entityManager, Bread.class, BreadDto.class, afterId)
+                .atLeast("bakingDate", bakedFrom)
+                .atMost("bakingDate", bakedTo)
+                .like("name", namePattern)
+                .atLeast("priceCents", minPriceCents)
+                .atMost("priceCents", maxPriceCents)
+                .list((cb, b) -> cb.construct(BreadDto.class,
+                        b.get("id"), b.get("name"), b.get("bakingDate"), cb.quot(b.<Long>get("priceCents"), 100.0)), limit);
+    }
+}
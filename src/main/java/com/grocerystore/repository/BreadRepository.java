@@ -1,7 +1,33 @@
 package com.grocerystore.repository;
 
+import com.grocerystore.dto.BreadDto;
 import com.grocerystore.model.Bread;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface BreadRepository extends JpaRepository<Bread, Long> {
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BreadRepository extends JpaRepository<Bread, Long>, BreadPageQuery {
+
+    /**
+     * Price list rows straight from a JDBC cursor; must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.grocerystore.dto.BreadDto(b.id, b.name, b.bakingDate, b.priceCents / 100.0) from Bread b order by b.id")
+    Stream<BreadDto> streamPriceList();
+
+    /**
+     * The bread as its DTO, read without a managed entity, dirty-checking snapshot or flush.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.grocerystore.dto.BreadDto(b.id, b.name, b.bakingDate, b.priceCents / 100.0) from Bread b where b.id = :id")
+    Optional<BreadDto> findDtoById(long id);
 }
@@ -0,0 +1,27 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Not read-only, unlike the inherited one: a lagging read replica could miss a key the primary
+     * already has and let a retry place its order twice.
+     */
+    @Override
+    @Transactional
+    Optional<IdempotencyRecord> findById(String key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
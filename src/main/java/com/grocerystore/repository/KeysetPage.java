@@ -0,0 +1,82 @@
+package com.grocerystore.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria query for one keyset page of DTO rows: {@code id > afterId}, in id order, plus only
+ * the filters that were given. A null filter adds nothing to the WHERE clause, so every filter
+ * combination is its own statement and the planner picks the index that fits it, instead of one
+ * {@code (:x is null or ...)} statement whose plan has to work for all of them.
+ */
+final class KeysetPage<E, D> {
+
+    private final EntityManager entityManager;
+    private final CriteriaBuilder cb;
+    private final CriteriaQuery<D> query;
+    private final Root<E> root;
+    private final List<Predicate> where = new ArrayList<>();
+
+    KeysetPage(EntityManager entityManager, Class<E> entity, Class<D> dto, long afterId) {
+        this.entityManager = entityManager;
+        this.cb = entityManager.getCriteriaBuilder();
+        this.query = cb.createQuery(dto);
+        this.root = query.from(entity);
+        where.add(cb.greaterThan(root.get("id"), afterId));
+    }
+
+    KeysetPage<E, D> equal(String attribute, Object value) {
+        if (value != null) {
+            where.add(cb.equal(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    <Y extends Comparable<? super Y>> KeysetPage<E, D> atLeast(String attribute, Y value) {
+        if (value != null) {
+            where.add(cb.greaterThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    <Y extends Comparable<? super Y>> KeysetPage<E, D> atMost(String attribute, Y value) {
+        if (value != null) {
+            where.add(cb.lessThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * {@code like} with {@code \} as the escape character, as built by {@link com.grocerystore.util.LikePattern}.
+     */
+    KeysetPage<E, D> like(String attribute, String pattern) {
+        if (pattern != null) {
+            where.add(cb.like(root.<String>get(attribute), pattern, '\\'));
+        }
+        return this;
+    }
+
+    /**
+     * Runs the query read-only, without a flush, selecting the DTO built by {@code select}.
+     */
+    List<D> list(BiFunction<CriteriaBuilder, Root<E>, CompoundSelection<D>> select, Limit limit) {
+        query.select(select.apply(cb, root))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, "MANUAL")
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+}
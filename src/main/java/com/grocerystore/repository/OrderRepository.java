@@ -0,0 +1,7 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.model.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+}
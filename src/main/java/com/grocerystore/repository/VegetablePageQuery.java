@@ -0,0 +1,15 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.VegetableDto;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+public interface VegetablePageQuery {
+
+    /**
+     * Keyset page: vegetables with an id above {@code afterId}, in id order; null filters are left out of the query.
+     */
+    List<VegetableDto> findPage(long afterId, String namePattern,
+                                Long minPriceCents, Long maxPriceCents, Limit limit);
+}
@@ -0,0 +1,26 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.model.Vegetable;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class VegetablePageQueryImpl implements VegetablePageQuery {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<VegetableDto> findPage(long afterId, String namePattern,
+                                       Long minPriceCents, Long maxPriceCents, Limit limit) {
+        return new KeysetPage<>(entityManager, Vegetable.class, VegetableDto.class, afterId)
+                .like("name", namePattern)
+                .atLeast("pricePer100GramsCents", minPriceCents)
+                .atMost("pricePer100GramsCents", maxPriceCents)
+                .list((cb, v) -> cb.construct(VegetableDto.class,
+                        v.get("id"), v.get("name"), cb.quot(v.<Long>get("pricePer100GramsCents"), 100.0)), limit);
+    }
+}
@@ -1,7 +1,33 @@
 package com.grocerystore.repository;
 
+import com.grocerystore.dto.VegetableDto;
 import com.grocerystore.model.Vegetable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface VegetableRepository extends JpaRepository<Vegetable, Long> {
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface VegetableRepository extends JpaRepository<Vegetable, Long>, VegetablePageQuery {
+
+    /**
+     * Price list rows straight from a JDBC cursor; must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.grocerystore.dto.VegetableDto(v.id, v.name, v.pricePer100GramsCents / 100.0) from Vegetable v order by v.id")
+    Stream<VegetableDto> streamPriceList();
+
+    /**
+     * The vegetable as its DTO, read without a managed entity, dirty-checking snapshot or flush.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.grocerystore.dto.VegetableDto(v.id, v.name, v.pricePer100GramsCents / 100.0) from Vegetable v where v.id = :id")
+    Optional<VegetableDto> findDtoById(long id);
 }
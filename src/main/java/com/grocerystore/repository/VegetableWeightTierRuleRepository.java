@@ -0,0 +1,7 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.model.VegetableWeightTierRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VegetableWeightTierRuleRepository extends JpaRepository<VegetableWeightTierRule, Long> {
+}
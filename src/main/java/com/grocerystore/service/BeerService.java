@@ -1,24 +1,31 @@
 package com.grocerystore.service;
 
 import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.CatalogPageDto;
 import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
 import com.grocerystore.exception.AlreadyExistsException;
 import com.grocerystore.exception.NotFoundException;
 import com.grocerystore.model.Beer;
 import com.grocerystore.repository.BeerRepository;
+import com.grocerystore.util.LikePattern;
+import com.grocerystore.util.Money;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BeerService {
 
     private final BeerRepository beerRepository;
+    private final CatalogSnapshots catalogSnapshots;
 
     @Transactional
     public BeerDto addBeer(@Valid BeerDto beerDto) {
@@ -30,13 +37,14 @@ public class BeerService {
         Beer beer = new Beer();
         beer.setName(beerDto.name());
         beer.setCountry(Country.valueOf(beerDto.country().toString().toUpperCase()));
-        beer.setPrice(beerDto.price());
+        beer.setPriceCents(Money.toCents(beerDto.price()));
         Beer saved = beerRepository.save(beer);
+        catalogSnapshots.put(saved);
         return new BeerDto(
                 beer.getId(),
                 saved.getName(),
                 saved.getCountry(),
-                saved.getPrice()
+                Money.toEuros(saved.getPriceCents())
         );
     }
 
@@ -47,27 +55,28 @@ public class BeerService {
 
         beer.setName(beerDto.name());
         beer.setCountry(Country.valueOf(beerDto.country().toString().toUpperCase()));
-        beer.setPrice(beerDto.price());
+        beer.setPriceCents(Money.toCents(beerDto.price()));
 
         Beer updated = beerRepository.save(beer);
+        catalogSnapshots.put(updated);
         return new BeerDto(
                 updated.getId(),
                 updated.getName(),
                 updated.getCountry(),
-                updated.getPrice());
+                Money.toEuros(updated.getPriceCents()));
     }
 
-    public List<BeerDto> getAllBeers() {
-        List<Beer> beerList = beerRepository.findAll();
-        return beerList.stream().
-                map(beer ->
-                        new BeerDto(
-                                beer.getId(),
-                                beer.getName(),
-                                beer.getCountry(),
-                                beer.getPrice()
-                        ))
-                .toList();
+    @Transactional(readOnly = true)
+    public CatalogPageDto<BeerDto> findBeers(Country country, String namePrefix, Double minPrice, Double maxPrice,
+                                             long after, int size) {
+        List<BeerDto> rows = beerRepository.findPage(
+                after,
+                country,
+                LikePattern.startsWith(namePrefix),
+                minPrice == null ? null : Money.toCents(minPrice),
+                maxPrice == null ? null : Money.toCents(maxPrice),
+                Limit.of(size + 1));
+        return CatalogPageDto.of(rows, size, BeerDto::id);
     }
 
     @Transactional
@@ -75,16 +84,13 @@ public class BeerService {
         Beer beer = beerRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Beer not found with id: " + id));
         beerRepository.delete(beer);
+        catalogSnapshots.remove(ItemType.BEER, id);
     }
 
+    @Transactional(readOnly = true)
     public BeerDto getBeer(Long id) {
-        Beer beer = beerRepository.findById(id)
+        return beerRepository.findDtoById(id)
                 .orElseThrow(() -> new NotFoundException("Beer not found with id: " + id));
-        return new BeerDto(
-                beer.getId(),
-                beer.getName(),
-                beer.getCountry(),
-                beer.getPrice());
     }
 
     public Beer getById(Long id) {
@@ -92,4 +98,11 @@ public class BeerService {
                 .orElseThrow(() -> new NotFoundException("Beer not found: " + id));
     }
 
+    /**
+     * Streams the price list from a database cursor; the caller must hold a transaction and close the stream.
+     */
+    public Stream<BeerDto> streamPriceList() {
+        return beerRepository.streamPriceList();
+    }
+
 }
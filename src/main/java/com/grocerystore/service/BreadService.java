@@ -1,45 +1,56 @@
 package com.grocerystore.service;
 
 import com.grocerystore.dto.BreadDto;
+import com.grocerystore.dto.CatalogPageDto;
+import com.grocerystore.enums.ItemType;
 import com.grocerystore.exception.NotFoundException;
 import com.grocerystore.model.Bread;
 import com.grocerystore.repository.BreadRepository;
+import com.grocerystore.util.LikePattern;
+import com.grocerystore.util.Money;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BreadService {
 
     private final BreadRepository breadRepository;
+    private final CatalogSnapshots catalogSnapshots;
+    private final Clock clock;
 
     @Transactional
     public BreadDto addBread(BreadDto breadDto) {
 
-        if (breadDto.bakingDate().isBefore(java.time.LocalDate.now().minusDays(6))) {
+        if (breadDto.bakingDate().isBefore(LocalDate.now(clock).minusDays(Bread.MAX_SELLABLE_AGE_DAYS))) {
             throw new IllegalArgumentException("Breads older than 6 days cannot be handled.");
         }
 
         Bread bread = new Bread();
         bread.setName(breadDto.name());
         bread.setBakingDate(breadDto.bakingDate());
-        bread.setPrice(breadDto.price());
+        bread.setPriceCents(Money.toCents(breadDto.price()));
         Bread saved = breadRepository.save(bread);
+        catalogSnapshots.put(saved);
         return new BreadDto(
                 saved.getId(),
                 saved.getName(),
                 saved.getBakingDate(),
-                saved.getPrice()
+                Money.toEuros(saved.getPriceCents())
         );
     }
 
     @Transactional
     public BreadDto updateBread(Long id, BreadDto breadDto) {
-        if (breadDto.bakingDate().isBefore(java.time.LocalDate.now().minusDays(6))) {
+        if (breadDto.bakingDate().isBefore(LocalDate.now(clock).minusDays(Bread.MAX_SELLABLE_AGE_DAYS))) {
             throw new IllegalArgumentException("Breads older than 6 days cannot be handled.");
         }
 
@@ -48,29 +59,31 @@ public class BreadService {
 
         bread.setName(breadDto.name());
         bread.setBakingDate(breadDto.bakingDate());
-        bread.setPrice(breadDto.price());
+        bread.setPriceCents(Money.toCents(breadDto.price()));
 
         Bread updated = breadRepository.save(bread);
+        catalogSnapshots.put(updated);
         return new BreadDto(
                 updated.getId(),
                 updated.getName(),
                 updated.getBakingDate(),
-                updated.getPrice()
+                Money.toEuros(updated.getPriceCents())
         );
     }
 
 
-    public List<BreadDto> getAllBreads() {
-        List<Bread> breadList = breadRepository.findAll();
-        return breadList.stream()
-                .map(bread ->
-                        new BreadDto(
-                                bread.getId(),
-                                bread.getName(),
-                                bread.getBakingDate(),
-                                bread.getPrice()
-                        ))
-                .toList();
+    @Transactional(readOnly = true)
+    public CatalogPageDto<BreadDto> findBreads(LocalDate bakedFrom, LocalDate bakedTo, String namePrefix,
+                                               Double minPrice, Double maxPrice, long after, int size) {
+        List<BreadDto> rows = breadRepository.findPage(
+                after,
+                bakedFrom,
+                bakedTo,
+                LikePattern.startsWith(namePrefix),
+                minPrice == null ? null : Money.toCents(minPrice),
+                maxPrice == null ? null : Money.toCents(maxPrice),
+                Limit.of(size + 1));
+        return CatalogPageDto.of(rows, size, BreadDto::id);
     }
 
     @Transactional
@@ -78,17 +91,13 @@ public class BreadService {
         Bread bread = breadRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Bread not found with id: " + id));
         breadRepository.delete(bread);
+        catalogSnapshots.remove(ItemType.BREAD, id);
     }
 
+    @Transactional(readOnly = true)
     public BreadDto getBread(Long id) {
-        Bread bread = breadRepository.findById(id)
+        return breadRepository.findDtoById(id)
                 .orElseThrow(() -> new NotFoundException("Bread not found with id: " + id));
-        return new BreadDto(
-                bread.getId(),
-                bread.getName(),
-                bread.getBakingDate(),
-                bread.getPrice()
-        );
     }
 
     public Bread getById(Long id) {
@@ -96,4 +105,11 @@ public class BreadService {
                 .orElseThrow(() -> new NotFoundException("Bread not found: " + id));
     }
 
+    /**
+     * Streams the price list from a database cursor; the caller must hold a transaction and close the stream.
+     */
+    public Stream<BreadDto> streamPriceList() {
+        return breadRepository.streamPriceList();
+    }
+
 }
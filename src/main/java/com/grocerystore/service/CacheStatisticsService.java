@@ -0,0 +1,72 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.CacheRegionStatisticsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private static final long UNAVAILABLE = -1;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public List<CacheRegionStatisticsDto> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return null;
+        }
+        return new CacheRegionStatisticsDto(
+                region,
+                regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(),
+                regionStatistics.getPutCount(),
+                evictionCount(region),
+                orUnavailable(regionStatistics.getElementCountInMemory()));
+    }
+
+    private long orUnavailable(long count) {
+        return count == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? UNAVAILABLE : count;
+    }
+
+    /**
+     * Hibernate does not track evictions, so they are read from the JCache statistics MXBean
+     * the cache provider registers for the region.
+     */
+    private long evictionCount(String region) {
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                if (region.equals(name.getKeyProperty("Cache"))) {
+                    return (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+                }
+            }
+        } catch (JMException e) {
+            log.warn("Could not read eviction count of cache region {}", region, e);
+        }
+        return UNAVAILABLE;
+    }
+}
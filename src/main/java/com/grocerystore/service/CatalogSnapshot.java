@@ -0,0 +1,235 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.exception.NotFoundException;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Item;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.util.LongKeyedMap;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Every beer, bread and vegetable at one catalog version, indexed by id. A write produces a new
+ * snapshot with a higher version instead of changing this one, so orders resolve their items
+ * without locks and without going to the database, and an order priced against a snapshot sees
+ * one consistent catalog throughout.
+ * <p>
+ * The items are copies taken when the snapshot is built, never the entities the caller passed in,
+ * so changing an entity, managed or not, does not reach orders being priced. They are still the
+ * mutable entity classes, though, and every order shares them: code that gets an item from a
+ * snapshot must treat it as read-only, since a change would alter prices without a new version
+ * and behind the back of the {@link OrderQuoteCache}.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final LongKeyedMap<Beer> beers;
+    private final LongKeyedMap<Bread> breads;
+    private final LongKeyedMap<Vegetable> vegetables;
+
+    private CatalogSnapshot(long version,
+                            LongKeyedMap<Beer> beers,
+                            LongKeyedMap<Bread> breads,
+                            LongKeyedMap<Vegetable> vegetables) {
+        this.version = version;
+        this.beers = beers;
+        this.breads = breads;
+        this.vegetables = vegetables;
+    }
+
+    public static CatalogSnapshot empty(long version) {
+        return new CatalogSnapshot(version, LongKeyedMap.empty(), LongKeyedMap.empty(), LongKeyedMap.empty());
+    }
+
+    public static CatalogSnapshot of(long version,
+                                     Collection<Beer> beers,
+                                     Collection<Bread> breads,
+                                     Collection<Vegetable> vegetables) {
+        return new CatalogSnapshot(version,
+                LongKeyedMap.of(beers.stream().map(CatalogSnapshot::copyOf).toList(), Beer::getId),
+                LongKeyedMap.of(breads.stream().map(CatalogSnapshot::copyOf).toList(), Bread::getId),
+                LongKeyedMap.of(vegetables.stream().map(CatalogSnapshot::copyOf).toList(), Vegetable::getId));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size(ItemType type) {
+        return switch (type) {
+            case BEER -> beers.size();
+            case BREAD -> breads.size();
+            case VEGETABLE -> vegetables.size();
+        };
+    }
+
+    /**
+     * The item with the given type and id, or null when the catalog has none.
+     */
+    public Item find(ItemType type, long id) {
+        return switch (type) {
+            case BEER -> beers.get(id);
+            case BREAD -> breads.get(id);
+            case VEGETABLE -> vegetables.get(id);
+        };
+    }
+
+    public List<OrderItemDto> resolve(List<OrderRequestDto> requests) {
+        MissingItems missing = new MissingItems();
+        List<OrderItemDto> resolved = resolve(requests, missing);
+        missing.throwIfAny();
+        return resolved;
+    }
+
+    /**
+     * Resolves the items that exist and records the others in {@code missing}, so an order
+     * resolved a chunk at a time can still report every missing item at the end.
+     */
+    public List<OrderItemDto> resolve(List<OrderRequestDto> requests, MissingItems missing) {
+        List<OrderItemDto> resolved = new ArrayList<>(requests.size());
+        for (OrderRequestDto dto : requests) {
+            Item item = find(dto.type(), dto.itemId());
+            if (item == null) {
+                missing.add(dto.type(), dto.itemId());
+            } else {
+                resolved.add(new OrderItemDto(item, dto.amount()));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Ids that {@link #resolve(List, MissingItems)} did not find, per type.
+     */
+    public static final class MissingItems {
+
+        private Map<ItemType, SortedSet<Long>> ids;
+
+        void add(ItemType type, long id) {
+            if (ids == null) {
+                ids = new EnumMap<>(ItemType.class);
+            }
+            ids.computeIfAbsent(type, t -> new TreeSet<>()).add(id);
+        }
+
+        public void throwIfAny() {
+            if (ids != null) {
+                String details = ids.entrySet().stream()
+                        .map(entry -> entry.getKey() + " " + entry.getValue())
+                        .collect(Collectors.joining(", "));
+                throw new NotFoundException("Items not found: " + details);
+            }
+        }
+    }
+
+    /**
+     * Copy with the item added or replaced.
+     */
+    public CatalogSnapshot with(Item item, long newVersion) {
+        return switch (item) {
+            case Beer beer -> new CatalogSnapshot(newVersion, beers.with(beer.getId(), copyOf(beer)), breads, vegetables);
+            case Bread bread -> new CatalogSnapshot(newVersion, beers, breads.with(bread.getId(), copyOf(bread)), vegetables);
+            case Vegetable veg -> new CatalogSnapshot(newVersion, beers, breads, vegetables.with(veg.getId(), copyOf(veg)));
+            default -> throw new IllegalArgumentException("Unknown item type");
+        };
+    }
+
+    /**
+     * Copy with all the items added or replaced, each type copied once.
+     */
+    public CatalogSnapshot withAll(Collection<? extends Item> items, long newVersion) {
+        List<Beer> newBeers = new ArrayList<>();
+        List<Bread> newBreads = new ArrayList<>();
+        List<Vegetable> newVegetables = new ArrayList<>();
+        for (Item item : items) {
+            switch (item) {
+                case Beer beer -> newBeers.add(copyOf(beer));
+                case Bread bread -> newBreads.add(copyOf(bread));
+                case Vegetable veg -> newVegetables.add(copyOf(veg));
+                default -> throw new IllegalArgumentException("Unknown item type");
+            }
+        }
+        return new CatalogSnapshot(newVersion,
+                beers.withAll(newBeers, Beer::getId),
+                breads.withAll(newBreads, Bread::getId),
+                vegetables.withAll(newVegetables, Vegetable::getId));
+    }
+
+    /**
+     * Copy without the item of the given type and id.
+     */
+    public CatalogSnapshot without(ItemType type, long id, long newVersion) {
+        return switch (type) {
+            case BEER -> new CatalogSnapshot(newVersion, beers.without(id), breads, vegetables);
+            case BREAD -> new CatalogSnapshot(newVersion, beers, breads.without(id), vegetables);
+            case VEGETABLE -> new CatalogSnapshot(newVersion, beers, breads, vegetables.without(id));
+        };
+    }
+
+    private static Beer copyOf(Beer beer) {
+        Beer copy = new Beer();
+        copy.setId(beer.getId());
+        copy.setName(beer.getName());
+        copy.setCountry(beer.getCountry());
+        copy.setPriceCents(beer.getPriceCents());
+        return copy;
+    }
+
+    private static Bread copyOf(Bread bread) {
+        Bread copy = new Bread();
+        copy.setId(bread.getId());
+        copy.setName(bread.getName());
+        copy.setBakingDate(bread.getBakingDate());
+        copy.setPriceCents(bread.getPriceCents());
+        return copy;
+    }
+
+    private static Vegetable copyOf(Vegetable vegetable) {
+        Vegetable copy = new Vegetable();
+        copy.setId(vegetable.getId());
+        copy.setName(vegetable.getName());
+        copy.setPricePer100GramsCents(vegetable.getPricePer100GramsCents());
+        return copy;
+    }
+
+    /**
+     * Whether both snapshots hold the same items with the same attributes, whatever their versions.
+     */
+    public boolean sameItemsAs(CatalogSnapshot other) {
+        return sameItems(beers, other.beers, ItemType.BEER, other)
+                && sameItems(breads, other.breads, ItemType.BREAD, other)
+                && sameItems(vegetables, other.vegetables, ItemType.VEGETABLE, other);
+    }
+
+    private static boolean sameItems(LongKeyedMap<? extends Item> mine, LongKeyedMap<? extends Item> theirs,
+                                     ItemType type, CatalogSnapshot other) {
+        if (mine.size() != theirs.size()) {
+            return false;
+        }
+        boolean[] same = {true};
+        mine.forEachValue(item -> same[0] &= sameItem(item, other.find(type, item.getId())));
+        return same[0];
+    }
+
+    private static boolean sameItem(Item item, Item other) {
+        return switch (item) {
+            case Beer beer -> other instanceof Beer that
+                    && Objects.equals(beer.getName(), that.getName())
+                    && beer.getCountry() == that.getCountry()
+                    && beer.getPriceCents() == that.getPriceCents();
+            case Bread bread -> other instanceof Bread that
+                    && Objects.equals(bread.getName(), that.getName())
+                    && Objects.equals(bread.getBakingDate(), that.getBakingDate())
+                    && bread.getPriceCents() == that.getPriceCents();
+            case Vegetable veg -> other instanceof Vegetable that
+                    && Objects.equals(veg.getName(), that.getName())
+                    && veg.getPricePer100GramsCents() == that.getPricePer100GramsCents();
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.grocerystore.service;
+
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Item;
+import com.grocerystore.repository.BeerRepository;
+import com.grocerystore.repository.BreadRepository;
+import com.grocerystore.repository.VegetableRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. The catalog is loaded at startup; after that every
+ * write through the item services swaps in a copy with the changed item once the write has
+ * committed, so a reader that sees the new version also finds the new row in the database.
+ * <p>
+ * Writes that bypass this instance (another instance, a script) are picked up by a full reload
+ * every {@code grocery.catalog.refresh-interval}; a reload that finds nothing new keeps the
+ * current snapshot and version.
+ * <p>
+ * A version is the time of the change in epoch milliseconds, or one more than the previous
+ * version when the clock has not moved past it, so versions keep growing across restarts and
+ * also tell when the catalog last changed.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshots {
+
+    private final BeerRepository beerRepository;
+    private final BreadRepository breadRepository;
+    private final VegetableRepository vegetableRepository;
+    private final TransactionOperations readOnlyTransaction;
+    private final Clock clock;
+    private final AtomicReference<CatalogSnapshot> current;
+
+    @Autowired
+    public CatalogSnapshots(BeerRepository beerRepository,
+                            BreadRepository breadRepository,
+                            VegetableRepository vegetableRepository,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock) {
+        this(beerRepository, breadRepository, vegetableRepository, readOnly(transactionManager), clock);
+    }
+
+    CatalogSnapshots(BeerRepository beerRepository,
+                     BreadRepository breadRepository,
+                     VegetableRepository vegetableRepository,
+                     TransactionOperations readOnlyTransaction,
+                     Clock clock) {
+        this.beerRepository = beerRepository;
+        this.breadRepository = breadRepository;
+        this.vegetableRepository = vegetableRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.clock = clock;
+        this.current = new AtomicReference<>(CatalogSnapshot.empty(clock.millis()));
+    }
+
+    public CatalogSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Adds or replaces the item once the current transaction commits, or right away outside one.
+     */
+    public void put(Item item) {
+        afterCommit(snapshot -> snapshot.with(item, nextVersion(snapshot)));
+    }
+
+    /**
+     * Adds or replaces all the items under one new version, once the current transaction commits
+     * or right away outside one.
+     */
+    public void putAll(Collection<? extends Item> items) {
+        if (!items.isEmpty()) {
+            afterCommit(snapshot -> snapshot.withAll(items, nextVersion(snapshot)));
+        }
+    }
+
+    /**
+     * Removes the item once the current transaction commits, or right away outside one.
+     */
+    public void remove(ItemType type, long id) {
+        afterCommit(snapshot -> snapshot.without(type, id, nextVersion(snapshot)));
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Reads the whole catalog and publishes it unless it matches the current snapshot. A write
+     * applied while the catalog was being read wins over the reload; the next one catches up.
+     */
+    public CatalogSnapshot reload() {
+        CatalogSnapshot before = current.get();
+        CatalogSnapshot loaded = readOnlyTransaction.execute(status -> CatalogSnapshot.of(
+                nextVersion(before),
+                beerRepository.findAll(),
+                breadRepository.findAll(),
+                vegetableRepository.findAll()));
+        if (loaded.sameItemsAs(before) || !current.compareAndSet(before, loaded)) {
+            return current.get();
+        }
+        log.info("Catalog version {} loaded: {} beers, {} breads, {} vegetables", loaded.version(),
+                loaded.size(ItemType.BEER), loaded.size(ItemType.BREAD), loaded.size(ItemType.VEGETABLE));
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.catalog.refresh-interval:60s}",
+            initialDelayString = "${grocery.catalog.refresh-interval:60s}")
+    void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Catalog not reloaded, keeping version {}: {}", current.get().version(), e.getMessage());
+        }
+    }
+
+    private long nextVersion(CatalogSnapshot snapshot) {
+        return Math.max(snapshot.version() + 1, clock.millis());
+    }
+
+    private void afterCommit(UnaryOperator<CatalogSnapshot> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            current.updateAndGet(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                current.updateAndGet(change);
+            }
+        });
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
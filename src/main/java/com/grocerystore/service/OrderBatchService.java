@@ -0,0 +1,90 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.CartRequestDto;
+import com.grocerystore.dto.CartResultDto;
+import com.grocerystore.exception.ApiException;
+import com.grocerystore.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Prices a batch of carts. All carts are priced against the same {@link CatalogSnapshot}, taken
+ * when the batch starts, each by {@link OrderService} on its own virtual thread; a batch never
+ * takes a database connection.
+ * <p>
+ * A cart that cannot be priced yields an error result instead of failing the batch. At most
+ * {@code grocery.order.batch.max-concurrency} carts are priced at once across all batches.
+ */
+@Slf4j
+@Service
+public class OrderBatchService {
+
+    private final OrderService orderService;
+    private final CatalogSnapshots catalogSnapshots;
+    private final Semaphore permits;
+    private final int maxCarts;
+
+    public OrderBatchService(OrderService orderService,
+                             CatalogSnapshots catalogSnapshots,
+                             @Value("${grocery.order.batch.max-concurrency:8}") int maxConcurrency,
+                             @Value("${grocery.order.batch.max-carts:5000}") int maxCarts) {
+        this.orderService = orderService;
+        this.catalogSnapshots = catalogSnapshots;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxCarts = maxCarts;
+    }
+
+    public List<CartResultDto> processBatch(List<CartRequestDto> carts) {
+        if (carts.size() > maxCarts) {
+            throw new IllegalArgumentException("Batch of " + carts.size() + " carts exceeds " + maxCarts);
+        }
+
+        CatalogSnapshot catalog = catalogSnapshots.current();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CartResultDto>> pending = new ArrayList<>(carts.size());
+            for (CartRequestDto cart : carts) {
+                pending.add(executor.submit(() -> priceCart(cart, catalog)));
+            }
+
+            List<CartResultDto> results = new ArrayList<>(carts.size());
+            for (Future<CartResultDto> future : pending) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch pricing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch pricing interrupted", e);
+        }
+    }
+
+    private CartResultDto priceCart(CartRequestDto cart, CatalogSnapshot catalog) throws InterruptedException {
+        permits.acquire();
+        try {
+            return CartResultDto.priced(cart.cartId(), orderService.processOrder(cart.items(), catalog));
+        } catch (NotFoundException e) {
+            return CartResultDto.failed(cart.cartId(), new ApiException(HttpStatus.NOT_FOUND, e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return CartResultDto.failed(cart.cartId(),
+                    new ApiException(HttpStatus.BAD_REQUEST, "The request violates a business rule."));
+        } catch (RuntimeException e) {
+            log.error("Pricing cart {} failed", cart.cartId(), e);
+            return CartResultDto.failed(cart.cartId(),
+                    new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage()));
+        } finally {
+            permits.release();
+        }
+    }
+}
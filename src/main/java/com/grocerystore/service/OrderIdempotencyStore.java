@@ -0,0 +1,181 @@
+package com.grocerystore.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.exception.IdempotencyKeyReusedException;
+import com.grocerystore.model.IdempotencyRecord;
+import com.grocerystore.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs an order at most once per {@code Idempotency-Key} and replays its response to retries.
+ * <p>
+ * Keys live in memory for {@code grocery.order.idempotency.ttl} (at most
+ * {@code grocery.order.idempotency.maximum-size} of them) and in the {@code idempotency_record}
+ * table, so a retry that reaches a restarted instance is still answered from the first response.
+ * A duplicate that arrives while the first request is still running waits for its result instead
+ * of placing the order again. Failed orders are not remembered: a retry runs them again.
+ * <p>
+ * Every key is bound to a hash of its request; reusing a key for a different cart is rejected
+ * with {@link IdempotencyKeyReusedException}. The hash is known before the order runs, so an
+ * order read as a stream claims its key before its body is read (see
+ * {@link #execute(String, String, Supplier)}).
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Cache<String, Entry> entries;
+
+    public record Outcome(OrderSummaryDto order, boolean replayed) {
+    }
+
+    private record Entry(String requestHash, CompletableFuture<OrderSummaryDto> result) {
+    }
+
+    private record StoredOrder(List<StoredLine> lines, long totalCents, long catalogVersion) {
+    }
+
+    private record StoredLine(String description, long totalCents) {
+    }
+
+    public OrderIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                 ObjectMapper objectMapper,
+                                 Clock clock,
+                                 @Value("${grocery.order.idempotency.ttl:24h}") Duration ttl,
+                                 @Value("${grocery.order.idempotency.maximum-size:10000}") long maximumSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Outcome execute(String key, List<OrderRequestDto> request, Supplier<OrderSummaryDto> order) {
+        return execute(key, OrderRequestHash.of(request), order);
+    }
+
+    /**
+     * For a request hashed some other way than by its lines, like an NDJSON order bound to the
+     * SHA-256 of its body from {@code Content-Digest}. The key is claimed before {@code order}
+     * runs, so a retry of a completed order is replayed and a concurrent duplicate waits for the
+     * first one, neither reading nor pricing its own body.
+     */
+    public Outcome execute(String key, String requestHash, Supplier<OrderSummaryDto> order) {
+        Entry mine = new Entry(requestHash, new CompletableFuture<>());
+        Entry running = entries.asMap().putIfAbsent(key, mine);
+        if (running != null) {
+            return new Outcome(await(key, running, requestHash), true);
+        }
+
+        try {
+            OrderSummaryDto stored = load(key, requestHash);
+            if (stored != null) {
+                mine.result().complete(stored);
+                return new Outcome(stored, true);
+            }
+            OrderSummaryDto placed = order.get();
+            save(key, requestHash, placed);
+            mine.result().complete(placed);
+            return new Outcome(placed, false);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.order.idempotency.purge-interval:10m}",
+            initialDelayString = "${grocery.order.idempotency.purge-interval:10m}")
+    void purgeExpired() {
+        try {
+            int purged = idempotencyRecordRepository.deleteCreatedBefore(clock.instant().minus(ttl));
+            log.debug("Purged {} expired idempotency records", purged);
+        } catch (DataAccessException e) {
+            log.warn("Expired idempotency records not purged: {}", e.getMessage());
+        }
+    }
+
+    private OrderSummaryDto await(String key, Entry running, String requestHash) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw reused(key);
+        }
+        try {
+            return running.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private OrderSummaryDto load(String key, String requestHash) {
+        Instant cutoff = clock.instant().minus(ttl);
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key)
+                .filter(found -> found.getCreatedAt().isAfter(cutoff))
+                .orElse(null);
+        if (record == null) {
+            return null;
+        }
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw reused(key);
+        }
+        StoredOrder stored = objectMapper.readValue(record.getResponse(), StoredOrder.class);
+        return new OrderSummaryDto(
+                stored.lines().stream()
+                        .map(line -> new OrderLineSummaryDto(line.description(), line.totalCents()))
+                        .toList(),
+                stored.totalCents(),
+                stored.catalogVersion());
+    }
+
+    /**
+     * Best effort: the order has been placed, so a failed write only costs the replay after a restart.
+     */
+    private void save(String key, String requestHash, OrderSummaryDto placed) {
+        StoredOrder stored = new StoredOrder(
+                placed.lines().stream()
+                        .map(line -> new StoredLine(line.description(), line.totalCents()))
+                        .toList(),
+                placed.totalCents(),
+                placed.catalogVersion());
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setRequestHash(requestHash);
+        record.setResponse(objectMapper.writeValueAsString(stored));
+        record.setCreatedAt(clock.instant());
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency key {} not stored: {}", key, e.getMessage());
+        }
+    }
+
+    private static IdempotencyKeyReusedException reused(String key) {
+        return new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different order.");
+    }
+}
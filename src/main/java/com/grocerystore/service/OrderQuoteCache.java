@@ -0,0 +1,120 @@
+package com.grocerystore.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.service.pricing.PricingSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers recently priced carts, so a till that reprices the same basket again and again only
+ * pays for the first time. Entries are keyed by the cart's lines with duplicates merged, the
+ * {@link CatalogSnapshot} version and the {@link PricingSnapshot}; a catalog write, a new rule set or
+ * midnight therefore makes every cached quote unreachable.
+ * <p>
+ * The cache holds at most {@code grocery.order.quote-cache.maximum-size} quotes with Caffeine's
+ * size-based (W-TinyLFU) eviction, which also disposes of the unreachable quotes: they are never
+ * read again, so they are the first to go. Nothing is invalidated on a version change, since
+ * requests still holding the previous snapshot would otherwise wipe the cache back and forth
+ * while a swap is in flight. Carts of more than {@code grocery.order.quote-cache.max-lines}
+ * lines are not cached, which keeps the keys small. Hits and misses are published as
+ * {@code cache.gets} with {@code cache=orderQuotes}.
+ */
+@Component
+public class OrderQuoteCache {
+
+    private final Cache<Key, OrderSummaryDto> quotes;
+    private final int maxLines;
+
+    @Autowired
+    public OrderQuoteCache(MeterRegistry meterRegistry,
+                           @Value("${grocery.order.quote-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${grocery.order.quote-cache.max-lines:500}") int maxLines) {
+        this.maxLines = maxLines;
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "orderQuotes");
+    }
+
+    /**
+     * A cache that never holds anything, for callers that need an {@link OrderService} without one.
+     */
+    public static OrderQuoteCache disabled() {
+        return new OrderQuoteCache(new SimpleMeterRegistry(), 0, 0);
+    }
+
+    /**
+     * Key of the cart priced against the given catalog version and pricing snapshot, or null when
+     * the cart is not cached.
+     */
+    public Key keyOf(List<OrderRequestDto> items, long version, PricingSnapshot snapshot) {
+        if (items.size() > maxLines) {
+            return null;
+        }
+        // duplicates are merged like the pricing engine merges them; the first-seen order is kept
+        // because it decides the receipt order and how order-level discounts are split
+        Map<Long, Long> amounts = new LinkedHashMap<>();
+        for (OrderRequestDto item : items) {
+            amounts.merge(item.itemId() << 2 | item.type().ordinal(), (long) item.amount(), Long::sum);
+        }
+        long[] lines = new long[amounts.size() * 2];
+        int i = 0;
+        for (Map.Entry<Long, Long> line : amounts.entrySet()) {
+            lines[i++] = line.getKey();
+            lines[i++] = line.getValue();
+        }
+        return new Key(version, snapshot, lines);
+    }
+
+    public OrderSummaryDto get(Key key) {
+        return key == null ? null : quotes.getIfPresent(key);
+    }
+
+    public void put(Key key, OrderSummaryDto quote) {
+        if (key != null) {
+            quotes.put(key, new OrderSummaryDto(List.copyOf(quote.lines()), quote.totalCents(), quote.catalogVersion()));
+        }
+    }
+
+    public static final class Key {
+
+        private final long catalogVersion;
+        private final PricingSnapshot snapshot;
+        private final long[] lines;
+        private final int hash;
+
+        private Key(long catalogVersion, PricingSnapshot snapshot, long[] lines) {
+            this.catalogVersion = catalogVersion;
+            this.snapshot = snapshot;
+            this.lines = lines;
+            this.hash = 31 * (31 * Long.hashCode(catalogVersion) + System.identityHashCode(snapshot))
+                    + Arrays.hashCode(lines);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && catalogVersion == other.catalogVersion
+                    && snapshot == other.snapshot
+                    && Arrays.equals(lines, other.lines);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderRequestDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 over the lines of an order, as {@link OrderIdempotencyStore} binds it to a key.
+ */
+public final class OrderRequestHash {
+
+    private OrderRequestHash() {
+    }
+
+    public static String of(List<OrderRequestDto> request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (OrderRequestDto line : request) {
+            digest.update((line.type() + ":" + line.itemId() + ":" + line.amount() + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
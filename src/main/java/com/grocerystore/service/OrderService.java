@@ -5,76 +5,85 @@ import com.grocerystore.dto.OrderRequestDto;
 import com.grocerystore.dto.OrderSummaryDto;
 import com.grocerystore.dto.OrderItemDto;
 import com.grocerystore.model.Bread;
-import com.grocerystore.model.Item;
-import com.grocerystore.service.discount.DiscountStrategy;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingMetrics.Stage;
+import com.grocerystore.service.pricing.PricingSnapshot;
+import com.grocerystore.service.pricing.PricingSnapshots;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
-    private final List<DiscountStrategy> discountStrategies;
-    private final BeerService beerService;
-    private final BreadService breadService;
-    private final VegetableService vegetableService;
+    private final OrderPricingEngine orderPricingEngine;
+    private final CatalogSnapshots catalogSnapshots;
+    private final PricingMetrics pricingMetrics;
+    private final PricingSnapshots pricingSnapshots;
+    private final OrderQuoteCache orderQuoteCache;
 
 
-    private List<OrderItemDto> resolveItems(List<OrderRequestDto> items) {
-        return items.stream()
-                .map(dto -> new OrderItemDto(resolveItem(dto), dto.amount()))
-                .toList();
-    }
-
-    private Item resolveItem(OrderRequestDto dto) {
-        return switch (dto.type()) {
-            case BEER -> beerService.getById(dto.itemId());
-            case BREAD -> breadService.getById(dto.itemId());
-            case VEGETABLE -> vegetableService.getById(dto.itemId());
-        };
-    }
-
-    private void validateBread(List<OrderItemDto> items) {
+    private void validateBread(List<OrderItemDto> items, PricingSnapshot snapshot) {
         for (OrderItemDto dto : items) {
             if (dto.item() instanceof Bread bread) {
-                long age = ChronoUnit.DAYS.between(bread.getBakingDate(), LocalDate.now());
-                if (age > 6) throw new IllegalArgumentException("Bread too old: " + bread.getName());
+                if (!snapshot.isSellable(bread.getBakingDate())) throw new IllegalArgumentException("Bread too old: " + bread.getName());
             }
         }
     }
 
+    /**
+     * Prices an order against the current {@link CatalogSnapshot} without touching the database;
+     * a cart priced before against the same catalog and rules is answered from the
+     * {@link OrderQuoteCache}.
+     */
     public OrderSummaryDto processOrder(List<OrderRequestDto> items) {
-        List<OrderItemDto> resolvedItems = resolveItems(items);
+        long start = System.nanoTime();
+        CatalogSnapshot catalog = catalogSnapshots.current();
+        PricingSnapshot snapshot = pricingSnapshots.current();
+        OrderQuoteCache.Key key = orderQuoteCache.keyOf(items, catalog.version(), snapshot);
+        OrderSummaryDto quote = orderQuoteCache.get(key);
+        if (quote != null) {
+            return quote;
+        }
 
-        validateBread(resolvedItems);
+        quote = processOrder(items, catalog, snapshot, start);
+        orderQuoteCache.put(key, quote);
+        return quote;
+    }
 
-        List<OrderLineSummaryDto> allLines = generateOrderReceipt(resolvedItems);
+    /**
+     * Prices an order against the given catalog, e.g. one shared by a batch of orders.
+     */
+    public OrderSummaryDto processOrder(List<OrderRequestDto> items, CatalogSnapshot catalog) {
+        return processOrder(items, catalog, pricingSnapshots.current(), System.nanoTime());
+    }
 
-        double total = allLines.
-                stream()
-                .mapToDouble(OrderLineSummaryDto::total).
-                sum();
+    private OrderSummaryDto processOrder(List<OrderRequestDto> items, CatalogSnapshot catalog,
+                                         PricingSnapshot snapshot, long resolveStart) {
+        List<OrderItemDto> resolvedItems = catalog.resolve(items);
+        pricingMetrics.recordStage(Stage.RESOLVE_ITEMS, items.size(), resolveStart);
 
-        total = round(total);
+        long validateStart = System.nanoTime();
+        validateBread(resolvedItems, snapshot);
+        pricingMetrics.recordStage(Stage.VALIDATE_BREAD, items.size(), validateStart);
 
-        return new OrderSummaryDto(allLines, total);
-    }
+        long receiptStart = System.nanoTime();
+        List<OrderLineSummaryDto> allLines = generateOrderReceipt(resolvedItems, snapshot);
+        pricingMetrics.recordStage(Stage.GENERATE_ORDER_RECEIPT, items.size(), receiptStart);
 
-    private List<OrderLineSummaryDto> generateOrderReceipt(List<OrderItemDto> items) {
-        return items.stream()
-                .map(line -> new OrderLineSummaryDto(
-                        line.buildDescription(),
-                        line.calculateNet(items, discountStrategies)))
-                .toList();
-    }
+        long total = 0;
+        for (OrderLineSummaryDto line : allLines) {
+            total += line.totalCents();
+        }
 
+        return new OrderSummaryDto(allLines, total, catalog.version());
+    }
 
-    private double round(double value) {
-        return Math.round(value * 100.0) / 100.0;
+    private List<OrderLineSummaryDto> generateOrderReceipt(List<OrderItemDto> items, PricingSnapshot snapshot) {
+        return orderPricingEngine.price(items, snapshot);
     }
 
 
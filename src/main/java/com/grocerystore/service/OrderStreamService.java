@@ -0,0 +1,141 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.exception.InvalidOrderLineException;
+import com.grocerystore.model.Bread;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingMetrics.Stage;
+import com.grocerystore.service.pricing.PricingSnapshot;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Prices an order sent as NDJSON, one {@link OrderRequestDto} per line, without ever holding its
+ * lines: they are parsed as they arrive, resolved against the catalog
+ * {@code grocery.order.stream.chunk-size} lines at a time and added to a pooled
+ * {@link CartColumns}, which merges repeated items and keeps the order-wide quantities current.
+ * Memory therefore grows with the distinct items of the order, not with its line count.
+ * <p>
+ * The receipt is built once the last line is in: a later line may add to an item already seen,
+ * and the beer and vegetable discounts depend on the whole order.
+ */
+@Service
+public class OrderStreamService {
+
+    private final CatalogSnapshots catalogSnapshots;
+    private final PricingSnapshots pricingSnapshots;
+    private final OrderPricingEngine orderPricingEngine;
+    private final PricingMetrics pricingMetrics;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public OrderStreamService(CatalogSnapshots catalogSnapshots,
+                              PricingSnapshots pricingSnapshots,
+                              OrderPricingEngine orderPricingEngine,
+                              PricingMetrics pricingMetrics,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              @Value("${grocery.order.stream.chunk-size:1000}") int chunkSize) {
+        this.catalogSnapshots = catalogSnapshots;
+        this.pricingSnapshots = pricingSnapshots;
+        this.orderPricingEngine = orderPricingEngine;
+        this.pricingMetrics = pricingMetrics;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public OrderSummaryDto processOrder(InputStream ndjson) {
+        CatalogSnapshot catalog = catalogSnapshots.current();
+        PricingSnapshot snapshot = pricingSnapshots.current();
+        CatalogSnapshot.MissingItems missing = new CatalogSnapshot.MissingItems();
+        List<OrderRequestDto> chunk = new ArrayList<>(chunkSize);
+
+        CartColumns cart = CartColumns.acquire(snapshot);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                OrderRequestDto request = parse(line, lineNumber);
+                chunk.add(request);
+                if (chunk.size() == chunkSize) {
+                    addChunk(cart, catalog, chunk, missing);
+                }
+            }
+            addChunk(cart, catalog, chunk, missing);
+            missing.throwIfAny();
+            cart.complete();
+
+            long receiptStart = System.nanoTime();
+            List<OrderLineSummaryDto> receipt = orderPricingEngine.price(cart);
+            pricingMetrics.recordStage(Stage.GENERATE_ORDER_RECEIPT, cart.lineCount(), receiptStart);
+
+            long total = 0;
+            for (OrderLineSummaryDto line : receipt) {
+                total += line.totalCents();
+            }
+            return new OrderSummaryDto(receipt, total, catalog.version());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            cart.release();
+        }
+    }
+
+    private OrderRequestDto parse(String line, long lineNumber) {
+        OrderRequestDto request;
+        try {
+            request = objectMapper.readValue(line, OrderRequestDto.class);
+        } catch (JacksonException e) {
+            throw new InvalidOrderLineException("Line " + lineNumber + ": invalid JSON: " + e.getOriginalMessage());
+        }
+        if (request == null) {
+            throw new InvalidOrderLineException("Line " + lineNumber + ": not an order line");
+        }
+        Set<ConstraintViolation<OrderRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String details = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            throw new InvalidOrderLineException("Line " + lineNumber + ": " + details);
+        }
+        return request;
+    }
+
+    private void addChunk(CartColumns cart, CatalogSnapshot catalog, List<OrderRequestDto> chunk,
+                          CatalogSnapshot.MissingItems missing) {
+        for (OrderItemDto item : catalog.resolve(chunk, missing)) {
+            if (item.item() instanceof Bread bread && !cart.snapshot().isSellable(bread.getBakingDate())) {
+                throw new IllegalArgumentException("Bread too old: " + bread.getName());
+            }
+            cart.add(item);
+        }
+        chunk.clear();
+    }
+}
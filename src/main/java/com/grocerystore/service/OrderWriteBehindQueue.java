@@ -0,0 +1,286 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.exception.OrderBacklogFullException;
+import com.grocerystore.model.Order;
+import com.grocerystore.model.OrderLine;
+import com.grocerystore.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores priced orders off the request thread. Orders are queued in memory and a single writer
+ * thread persists them in batches of up to {@code grocery.order.write-behind.batch-size}, one
+ * transaction per batch, which Hibernate sends as JDBC batches ({@code hibernate.jdbc.batch_size},
+ * ordered inserts, pooled sequences).
+ * <p>
+ * The queue holds at most {@code grocery.order.write-behind.capacity} orders. When it is full,
+ * {@link #enqueue} waits up to {@code grocery.order.write-behind.offer-timeout} for room and then
+ * rejects the order with {@link OrderBacklogFullException}, so a slow database pushes back on
+ * clients instead of growing the heap. On shutdown intake stops after the web server has stopped
+ * and every queued order is written before the persistence layer closes.
+ * <p>
+ * A batch that fails on a transient error (lost connection, pool timeout, deadlock) is retried
+ * {@code grocery.order.write-behind.retries} times, waiting {@code grocery.order.write-behind.retry-backoff}
+ * and then twice as long each time. A batch that still fails is written one order at a time, so one
+ * bad order cannot take the others down with it; an order that cannot be stored on its own is logged
+ * in full to the {@value #DEAD_LETTER_LOGGER} logger, from where it can be replayed.
+ */
+@Slf4j
+@Service
+public class OrderWriteBehindQueue implements SmartLifecycle {
+
+    static final String DEAD_LETTER_LOGGER = "grocery.order.dead-letter";
+
+    private static final Logger deadLetters = LoggerFactory.getLogger(DEAD_LETTER_LOGGER);
+
+    private final OrderRepository orderRepository;
+    private final TransactionOperations transaction;
+    private final Clock clock;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final int retries;
+    private final Duration retryBackoff;
+    private final Counter failedOrders;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public OrderWriteBehindQueue(OrderRepository orderRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 Clock clock,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${grocery.order.write-behind.capacity:10000}") int capacity,
+                                 @Value("${grocery.order.write-behind.batch-size:50}") int batchSize,
+                                 @Value("${grocery.order.write-behind.offer-timeout:200ms}") Duration offerTimeout,
+                                 @Value("${grocery.order.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                 @Value("${grocery.order.write-behind.retries:3}") int retries,
+                                 @Value("${grocery.order.write-behind.retry-backoff:100ms}") Duration retryBackoff) {
+        this(orderRepository, new TransactionTemplate(transactionManager), clock, meterRegistry,
+                capacity, batchSize, offerTimeout, shutdownTimeout, retries, retryBackoff);
+    }
+
+    OrderWriteBehindQueue(OrderRepository orderRepository,
+                          TransactionOperations transaction,
+                          Clock clock,
+                          MeterRegistry meterRegistry,
+                          int capacity,
+                          int batchSize,
+                          Duration offerTimeout,
+                          Duration shutdownTimeout,
+                          int retries,
+                          Duration retryBackoff) {
+        this.orderRepository = orderRepository;
+        this.transaction = transaction;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.retries = retries;
+        this.retryBackoff = retryBackoff;
+        this.failedOrders = Counter.builder("grocery.order.write-behind.failed")
+                .description("Orders that could not be stored and went to the dead-letter log")
+                .register(meterRegistry);
+        Gauge.builder("grocery.order.write-behind.pending", queue, Collection::size)
+                .description("Orders waiting to be stored")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(OrderSummaryDto summary) {
+        if (!running) {
+            throw new OrderBacklogFullException("Orders are not being accepted right now.");
+        }
+        try {
+            if (!queue.offer(new PendingOrder(clock.instant(), summary), offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new OrderBacklogFullException("Too many orders waiting to be stored, try again later.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderBacklogFullException("Interrupted while waiting to store the order.");
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("order-writer").daemon().start(this::writeUntilStopped);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!writer.join(shutdownTimeout)) {
+                log.warn("Order writer did not finish within {}, {} orders not stored", shutdownTimeout, queue.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while storing queued orders, {} orders not stored", queue.size());
+            return;
+        }
+        // an enqueue that passed the running check just before shutdown
+        writeBatches();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (phases {@code DEFAULT_PHASE - 1024} and {@code - 2048}), so no
+     * request can enqueue once the last batch is written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeUntilStopped() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // keep draining: the queue is only abandoned when stop() gives up waiting
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatches() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        try {
+            store(batch);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                deadLetter(batch.getFirst(), e);
+                return;
+            }
+            log.warn("Could not store a batch of {} orders, storing them one by one", batch.size(), e);
+        }
+        for (PendingOrder pending : batch) {
+            try {
+                store(List.of(pending));
+            } catch (RuntimeException e) {
+                deadLetter(pending, e);
+            }
+        }
+    }
+
+    /**
+     * Saves the orders in one transaction, retrying transient failures with exponential backoff.
+     * The entities are rebuilt for every attempt: a rolled-back attempt may have given them ids.
+     */
+    private void store(List<PendingOrder> batch) {
+        Duration backoff = retryBackoff;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                List<Order> orders = new ArrayList<>(batch.size());
+                for (PendingOrder pending : batch) {
+                    orders.add(pending.toOrder());
+                }
+                transaction.executeWithoutResult(status -> orderRepository.saveAll(orders));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == retries || !isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Could not store {} orders, retrying in {}: {}", batch.size(), backoff, e.toString());
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            // as in writeUntilStopped: orders already taken from the queue are not abandoned, retry now
+        }
+    }
+
+    private void deadLetter(PendingOrder pending, RuntimeException e) {
+        failedOrders.increment();
+        log.error("Could not store order placed at {}, see the {} log", pending.placedAt(), DEAD_LETTER_LOGGER, e);
+        deadLetters.error("{}", pending);
+    }
+
+    private record PendingOrder(Instant placedAt, OrderSummaryDto summary) {
+
+        Order toOrder() {
+            Order order = new Order();
+            order.setPlacedAt(placedAt);
+            order.setTotalCents(summary.totalCents());
+            order.setCatalogVersion(summary.catalogVersion());
+            for (OrderLineSummaryDto line : summary.lines()) {
+                OrderLine orderLine = new OrderLine();
+                orderLine.setDescription(line.description());
+                orderLine.setTotalCents(line.totalCents());
+                order.addLine(orderLine);
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.grocerystore.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the price list as one object of three arrays without holding the catalog in memory, as
+ * JSON or in whichever binary Jackson format the given mapper writes.
+ * <p>
+ * Each section is read from its own database cursor, in its own read-only transaction on a
+ * virtual thread, so the three queries run at the same time. Rows are handed to the writer
+ * through a small bounded queue: a section that is not being written yet simply waits once its
+ * queue is full, which keeps the heap flat however large the catalog is.
+ * <p>
+ * That costs three pooled connections per request, held for as long as the client takes to read,
+ * so only {@code pool size / 3 - 1} requests stream in parallel. Beyond that a request reads the
+ * three cursors one after another in a single transaction on one connection. Concurrent price
+ * lists can then never tie up the whole pool waiting for each other's connections, and orders
+ * keep a share of it.
+ */
+@Service
+public class PriceListService {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final Object END = new Object();
+
+    private final BeerService beerService;
+    private final BreadService breadService;
+    private final VegetableService vegetableService;
+    private final TransactionOperations readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Semaphore parallelStreams;
+
+    @Autowired
+    public PriceListService(BeerService beerService,
+                            BreadService breadService,
+                            VegetableService vegetableService,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this(beerService, breadService, vegetableService, readOnly(transactionManager), objectMapper,
+                Math.max(0, poolSize / 3 - 1));
+    }
+
+    PriceListService(BeerService beerService,
+                     BreadService breadService,
+                     VegetableService vegetableService,
+                     TransactionOperations readOnlyTransaction,
+                     ObjectMapper objectMapper,
+                     int parallelStreams) {
+        this.beerService = beerService;
+        this.breadService = breadService;
+        this.vegetableService = vegetableService;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.objectMapper = objectMapper;
+        this.parallelStreams = new Semaphore(parallelStreams);
+    }
+
+    public void writePriceList(OutputStream out) {
+        writePriceList(out, objectMapper);
+    }
+
+    public void writePriceList(OutputStream out, ObjectMapper mapper) {
+        List<Section> sections = List.of(
+                new Section("beers", beerService::streamPriceList),
+                new Section("breads", breadService::streamPriceList),
+                new Section("vegetables", vegetableService::streamPriceList));
+
+        if (!parallelStreams.tryAcquire()) {
+            writeSequentially(out, mapper, sections);
+            return;
+        }
+        try {
+            writeInParallel(out, mapper, sections);
+        } finally {
+            parallelStreams.release();
+        }
+    }
+
+    private void writeSequentially(OutputStream out, ObjectMapper mapper, List<Section> sections) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (JsonGenerator json = mapper.createGenerator(out)) {
+                json.writeStartObject();
+                for (Section section : sections) {
+                    json.writeName(section.name);
+                    json.writeStartArray();
+                    try (Stream<?> stream = section.rows.get()) {
+                        stream.forEach(json::writePOJO);
+                    }
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+            }
+        });
+    }
+
+    private void writeInParallel(OutputStream out, ObjectMapper mapper, List<Section> sections) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            sections.forEach(section -> executor.submit(section::fill));
+            try (JsonGenerator json = mapper.createGenerator(out)) {
+                json.writeStartObject();
+                for (Section section : sections) {
+                    json.writeName(section.name);
+                    json.writeStartArray();
+                    section.drainTo(json);
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+            } catch (RuntimeException e) {
+                // client gone or a query failed: stop the other cursors before giving up
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private final class Section {
+
+        private final String name;
+        private final Supplier<Stream<?>> rows;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile RuntimeException failure;
+
+        private Section(String name, Supplier<Stream<?>> rows) {
+            this.name = name;
+            this.rows = rows;
+        }
+
+        private void fill() {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<?> stream = rows.get()) {
+                        stream.forEach(this::put);
+                    }
+                });
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            put(END);
+        }
+
+        private void put(Object row) {
+            try {
+                queue.put(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Price list streaming cancelled", e);
+            }
+        }
+
+        private void drainTo(JsonGenerator json) {
+            try {
+                for (Object row = queue.take(); row != END; row = queue.take()) {
+                    json.writePOJO(row);
+                    if (queue.isEmpty()) {
+                        // the cursor is waiting on the database: let the client have what we have
+                        json.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Price list streaming interrupted", e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
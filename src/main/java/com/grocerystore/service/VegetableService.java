@@ -1,20 +1,27 @@
 package com.grocerystore.service;
 
+import com.grocerystore.dto.CatalogPageDto;
 import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.enums.ItemType;
 import com.grocerystore.exception.NotFoundException;
 import com.grocerystore.model.Vegetable;
 import com.grocerystore.repository.VegetableRepository;
+import com.grocerystore.util.LikePattern;
+import com.grocerystore.util.Money;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class VegetableService {
 
     private final VegetableRepository vegetableRepository;
+    private final CatalogSnapshots catalogSnapshots;
 
     @Transactional
     public VegetableDto addVegetable(VegetableDto vegetableDto) {
@@ -24,13 +31,14 @@ public class VegetableService {
             vegetable.setName(vegetableDto.name());
         }
 
-        vegetable.setPricePer100Grams(vegetableDto.pricePer100Grams());
+        vegetable.setPricePer100GramsCents(Money.toCents(vegetableDto.pricePer100Grams()));
         Vegetable saved = vegetableRepository.save(vegetable);
+        catalogSnapshots.put(saved);
 
         return new VegetableDto(
                 saved.getId(),
                 saved.getName(),
-                saved.getPricePer100Grams());
+                Money.toEuros(saved.getPricePer100GramsCents()));
     }
 
     @Transactional
@@ -38,26 +46,27 @@ public class VegetableService {
         Vegetable vegetable = vegetableRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Vegetable not found with id: " + id));
         vegetable.setName(vegetableDto.name());
-        vegetable.setPricePer100Grams(vegetableDto.pricePer100Grams());
+        vegetable.setPricePer100GramsCents(Money.toCents(vegetableDto.pricePer100Grams()));
         Vegetable updated = vegetableRepository.save(vegetable);
+        catalogSnapshots.put(updated);
 
         return new VegetableDto(
                 updated.getId(),
                 updated.getName(),
-                updated.getPricePer100Grams());
+                Money.toEuros(updated.getPricePer100GramsCents()));
 
     }
 
-    public List<VegetableDto> getAllVegetables() {
-        return vegetableRepository.findAll()
-                .stream()
-                .map(vegetable ->
-                        new VegetableDto(
-                                vegetable.getId(),
-                                vegetable.getName(),
-                                vegetable.getPricePer100Grams()
-                        ))
-                .toList();
+    @Transactional(readOnly = true)
+    public CatalogPageDto<VegetableDto> findVegetables(String namePrefix, Double minPrice, Double maxPrice,
+                                                       long after, int size) {
+        List<VegetableDto> rows = vegetableRepository.findPage(
+                after,
+                LikePattern.startsWith(namePrefix),
+                minPrice == null ? null : Money.toCents(minPrice),
+                maxPrice == null ? null : Money.toCents(maxPrice),
+                Limit.of(size + 1));
+        return CatalogPageDto.of(rows, size, VegetableDto::id);
     }
 
     @Transactional
@@ -65,15 +74,13 @@ public class VegetableService {
         Vegetable vegetable = vegetableRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Vegetable not found with id: " + id));
         vegetableRepository.delete(vegetable);
+        catalogSnapshots.remove(ItemType.VEGETABLE, id);
     }
 
+    @Transactional(readOnly = true)
     public VegetableDto getVegetable(Long id) {
-        Vegetable vegetable = vegetableRepository.findById(id)
+        return vegetableRepository.findDtoById(id)
                 .orElseThrow(() -> new NotFoundException("Vegetable not found with id: " + id));
-        return new VegetableDto(
-                vegetable.getId(),
-                vegetable.getName(),
-                vegetable.getPricePer100Grams());
     }
 
     public Vegetable getById(Long id) {
@@ -81,4 +88,11 @@ public class VegetableService {
                 .orElseThrow(() -> new NotFoundException("Vegetable not found: " + id));
     }
 
+    /**
+     * Streams the price list from a database cursor; the caller must hold a transaction and close the stream.
+     */
+    public Stream<VegetableDto> streamPriceList() {
+        return vegetableRepository.streamPriceList();
+    }
+
 }
@@ -0,0 +1,285 @@
+package com.grocerystore.service.catalogimport;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.BreadDto;
+import com.grocerystore.dto.CatalogImportErrorDto;
+import com.grocerystore.dto.CatalogImportResultDto;
+import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Item;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.repository.BeerRepository;
+import com.grocerystore.repository.BreadRepository;
+import com.grocerystore.repository.VegetableRepository;
+import com.grocerystore.service.CatalogSnapshots;
+import com.grocerystore.util.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports catalog items from an NDJSON or CSV upload without holding the file in memory: rows are
+ * read one line at a time, checked against the same rules as the single-item endpoints and
+ * written {@code grocery.catalog.import.batch-size} at a time, one transaction and one JDBC batch
+ * per batch of rows.
+ * <p>
+ * A bad row is reported with its line number and skipped; it never aborts the import. When a batch
+ * hits a database constraint (a duplicate beer name, say) its rows are retried one by one so only
+ * the conflicting ones are rejected. Batches already written stay written if the upload fails
+ * halfway. The imported items reach the catalog snapshot as each batch commits.
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    private final BeerRepository beerRepository;
+    private final BreadRepository breadRepository;
+    private final VegetableRepository vegetableRepository;
+    private final EntityManager entityManager;
+    private final CatalogSnapshots catalogSnapshots;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final TransactionOperations transaction;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public CatalogImportService(BeerRepository beerRepository,
+                                BreadRepository breadRepository,
+                                VegetableRepository vegetableRepository,
+                                EntityManager entityManager,
+                                CatalogSnapshots catalogSnapshots,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                Clock clock,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${grocery.catalog.import.batch-size:500}") int batchSize,
+                                @Value("${grocery.catalog.import.max-reported-errors:100}") int maxReportedErrors) {
+        this(beerRepository, breadRepository, vegetableRepository, entityManager, catalogSnapshots, validator,
+                objectMapper, clock, new TransactionTemplate(transactionManager), batchSize, maxReportedErrors);
+    }
+
+    CatalogImportService(BeerRepository beerRepository,
+                         BreadRepository breadRepository,
+                         VegetableRepository vegetableRepository,
+                         EntityManager entityManager,
+                         CatalogSnapshots catalogSnapshots,
+                         Validator validator,
+                         ObjectMapper objectMapper,
+                         Clock clock,
+                         TransactionOperations transaction,
+                         int batchSize,
+                         int maxReportedErrors) {
+        this.beerRepository = beerRepository;
+        this.breadRepository = breadRepository;
+        this.vegetableRepository = vegetableRepository;
+        this.entityManager = entityManager;
+        this.catalogSnapshots = catalogSnapshots;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.transaction = transaction;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public CatalogImportResultDto importNdjson(InputStream in) {
+        try (CatalogRowReader reader = new NdjsonRowReader(in, objectMapper)) {
+            return importRows(reader);
+        }
+    }
+
+    public CatalogImportResultDto importCsv(InputStream in) {
+        try (CatalogRowReader reader = new CsvRowReader(in)) {
+            return importRows(reader);
+        }
+    }
+
+    private CatalogImportResultDto importRows(CatalogRowReader reader) {
+        Run run = new Run();
+        run.beerCountries.addAll(beerRepository.findCountries());
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        while (true) {
+            CatalogRow row;
+            try {
+                row = reader.next();
+            } catch (InvalidCatalogRowException e) {
+                run.reject(reader.lineNumber(), e.getMessage());
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+            String problem = check(row, run.beerCountries);
+            if (problem != null) {
+                run.reject(reader.lineNumber(), problem);
+                continue;
+            }
+            if (row.type() == ItemType.BEER) {
+                run.beerCountries.add(row.country());
+            }
+            batch.add(new PendingRow(reader.lineNumber(), row));
+            if (batch.size() == batchSize) {
+                write(batch, run);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, run);
+        }
+        log.info("Catalog import: {} rows imported, {} rejected", run.imported, run.rejected);
+        return new CatalogImportResultDto(run.imported, run.rejected, run.errors);
+    }
+
+    /**
+     * Why the row cannot be imported, or null when it can.
+     */
+    private String check(CatalogRow row, Set<Country> beerCountries) {
+        if (row.type() == null) {
+            return "Type cannot be null";
+        }
+        Set<? extends ConstraintViolation<?>> violations = switch (row.type()) {
+            case BEER -> validator.validate(new BeerDto(null, row.name(), row.country(), row.price()));
+            case BREAD -> validator.validate(new BreadDto(null, row.name(), row.bakingDate(), row.price()));
+            case VEGETABLE -> validator.validate(new VegetableDto(null, row.name(), row.pricePer100Grams()));
+        };
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (row.type() == ItemType.BEER && beerCountries.contains(row.country())) {
+            return "Beer already exists.";
+        }
+        if (row.type() == ItemType.BREAD
+                && row.bakingDate().isBefore(LocalDate.now(clock).minusDays(Bread.MAX_SELLABLE_AGE_DAYS))) {
+            return "Breads older than 6 days cannot be handled.";
+        }
+        return null;
+    }
+
+    /**
+     * Constraint violations surface as Spring's exception from the repositories and as Hibernate's
+     * from the explicit flush, which bypasses the repository exception translation.
+     */
+    private void write(List<PendingRow> batch, Run run) {
+        try {
+            transaction.executeWithoutResult(status -> save(batch));
+            run.imported += batch.size();
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            log.debug("Catalog import batch rejected, retrying its {} rows one by one: {}", batch.size(), e.getMessage());
+            for (PendingRow pending : batch) {
+                try {
+                    transaction.executeWithoutResult(status -> save(List.of(pending)));
+                    run.imported++;
+                } catch (DataIntegrityViolationException | ConstraintViolationException rowFailure) {
+                    run.reject(pending.line(), "Conflicts with an existing item.");
+                    if (pending.row().type() == ItemType.BEER) {
+                        run.beerCountries.remove(pending.row().country());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows as fresh entities, so a retry after a failed batch does not reuse ids the
+     * rolled back batch had drawn. The persistence context is cleared afterwards and imported rows
+     * skip the second-level cache: neither should grow with the size of the file.
+     */
+    private void save(List<PendingRow> rows) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        session.setCacheMode(CacheMode.IGNORE);
+
+        List<Beer> beers = new ArrayList<>();
+        List<Bread> breads = new ArrayList<>();
+        List<Vegetable> vegetables = new ArrayList<>();
+        for (PendingRow pending : rows) {
+            CatalogRow row = pending.row();
+            switch (row.type()) {
+                case BEER -> beers.add(beer(row));
+                case BREAD -> breads.add(bread(row));
+                case VEGETABLE -> vegetables.add(vegetable(row));
+            }
+        }
+        List<Item> saved = new ArrayList<>(rows.size());
+        saved.addAll(beerRepository.saveAll(beers));
+        saved.addAll(breadRepository.saveAll(breads));
+        saved.addAll(vegetableRepository.saveAll(vegetables));
+        entityManager.flush();
+        entityManager.clear();
+        catalogSnapshots.putAll(saved);
+    }
+
+    private static Beer beer(CatalogRow row) {
+        Beer beer = new Beer();
+        beer.setName(row.name());
+        beer.setCountry(row.country());
+        beer.setPriceCents(Money.toCents(row.price()));
+        return beer;
+    }
+
+    private static Bread bread(CatalogRow row) {
+        Bread bread = new Bread();
+        bread.setName(row.name());
+        bread.setBakingDate(row.bakingDate());
+        bread.setPriceCents(Money.toCents(row.price()));
+        return bread;
+    }
+
+    private static Vegetable vegetable(CatalogRow row) {
+        Vegetable vegetable = new Vegetable();
+        vegetable.setName(row.name());
+        vegetable.setPricePer100GramsCents(Money.toCents(row.pricePer100Grams()));
+        return vegetable;
+    }
+
+    private record PendingRow(long line, CatalogRow row) {
+    }
+
+    /**
+     * Counters of one import; {@code beerCountries} holds the countries that already have a beer,
+     * in the database or earlier in the file.
+     */
+    private final class Run {
+
+        private final Set<Country> beerCountries = EnumSet.noneOf(Country.class);
+        private final List<CatalogImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CatalogImportErrorDto(line, message));
+            }
+        }
+    }
+}
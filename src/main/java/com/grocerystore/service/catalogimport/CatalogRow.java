@@ -0,0 +1,20 @@
+package com.grocerystore.service.catalogimport;
+
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+
+import java.time.LocalDate;
+
+/**
+ * One parsed row of an import file. Which fields apply depends on the type: beers have a country
+ * and a price, breads a baking date and a price, vegetables a price per 100 grams.
+ */
+public record CatalogRow(
+        ItemType type,
+        String name,
+        Country country,
+        LocalDate bakingDate,
+        Double price,
+        Double pricePer100Grams
+) {
+}
@@ -0,0 +1,64 @@
+package com.grocerystore.service.catalogimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an import file one line at a time, so only the current line is ever in memory. Blank
+ * lines are skipped.
+ */
+abstract class CatalogRowReader implements AutoCloseable {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    CatalogRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The next row, or null at the end of the file.
+     *
+     * @throws InvalidCatalogRowException when the line cannot be parsed; the next call moves on
+     */
+    CatalogRow next() {
+        String line = nextLine();
+        return line == null ? null : parse(line);
+    }
+
+    /**
+     * Line number of the row last returned by {@link #next()}, counting from 1.
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    abstract CatalogRow parse(String line);
+
+    String nextLine() {
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    return line;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.grocerystore.service.catalogimport;
+
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.exception.InvalidImportFileException;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Comma-separated rows under a header naming the {@link CatalogRow} fields, in any order; only
+ * {@code type} is required. Fields may be quoted, with {@code ""} for a quote inside; a quoted
+ * field cannot span lines. Empty fields are null.
+ */
+class CsvRowReader extends CatalogRowReader {
+
+    private static final List<String> COLUMNS = List.of("type", "name", "country", "bakingDate", "price", "pricePer100Grams");
+
+    // index of each CatalogRow field in a line, -1 when the file has no such column
+    private final int[] columnOf = new int[COLUMNS.size()];
+    private int columnCount;
+
+    CsvRowReader(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    CatalogRow next() {
+        if (columnCount == 0) {
+            readHeader();
+        }
+        return super.next();
+    }
+
+    private void readHeader() {
+        String header = nextLine();
+        if (header == null) {
+            throw new InvalidImportFileException("The CSV file is empty.");
+        }
+        List<String> names;
+        try {
+            names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        } catch (InvalidCatalogRowException e) {
+            throw new InvalidImportFileException("Invalid CSV header: " + e.getMessage());
+        }
+        Arrays.fill(columnOf, -1);
+        for (int i = 0; i < names.size(); i++) {
+            int field = COLUMNS.indexOf(names.get(i).trim());
+            if (field < 0) {
+                throw new InvalidImportFileException("Unknown CSV column '" + names.get(i).trim() + "', expected "
+                        + String.join(", ", COLUMNS) + ".");
+            }
+            columnOf[field] = i;
+        }
+        if (columnOf[0] < 0) {
+            throw new InvalidImportFileException("The CSV header has no 'type' column.");
+        }
+        columnCount = names.size();
+    }
+
+    @Override
+    CatalogRow parse(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != columnCount) {
+            throw new InvalidCatalogRowException("Expected " + columnCount + " fields, found " + fields.size());
+        }
+        return new CatalogRow(
+                map(fields, 0, value -> ItemType.valueOf(value.toUpperCase(Locale.ROOT))),
+                map(fields, 1, Function.identity()),
+                map(fields, 2, value -> Country.valueOf(value.toUpperCase(Locale.ROOT))),
+                map(fields, 3, LocalDate::parse),
+                map(fields, 4, Double::valueOf),
+                map(fields, 5, Double::valueOf));
+    }
+
+    private <T> T map(List<String> fields, int column, Function<String, T> parse) {
+        int index = columnOf[column];
+        String value = index < 0 ? "" : fields.get(index).trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parse.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCatalogRowException("Invalid " + COLUMNS.get(column) + " '" + value + "'");
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidCatalogRowException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,11 @@
+package com.grocerystore.service.catalogimport;
+
+/**
+ * A row that cannot be parsed; the import reports it and carries on with the next line.
+ */
+class InvalidCatalogRowException extends RuntimeException {
+
+    InvalidCatalogRowException(String message) {
+        super(message);
+    }
+}
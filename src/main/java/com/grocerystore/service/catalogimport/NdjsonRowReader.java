@@ -0,0 +1,29 @@
+package com.grocerystore.service.catalogimport;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+
+/**
+ * One JSON object per line, with the fields of {@link CatalogRow}, e.g.
+ * {@code {"type":"BEER","name":"Duvel","country":"BELGIUM","price":2.5}}.
+ */
+class NdjsonRowReader extends CatalogRowReader {
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonRowReader(InputStream in, ObjectMapper objectMapper) {
+        super(in);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    CatalogRow parse(String line) {
+        try {
+            return objectMapper.readValue(line, CatalogRow.class);
+        } catch (JacksonException e) {
+            throw new InvalidCatalogRowException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -3,56 +3,59 @@ package com.grocerystore.service.discount;
 
 import com.grocerystore.enums.Country;
 import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.enums.ItemType;
 import com.grocerystore.model.Beer;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import com.grocerystore.util.Money;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class BeerDiscount implements DiscountStrategy {
+
+    private final PricingSnapshots pricingSnapshots;
+
     @Override
-    public double calculateTotalDiscount(List<OrderItemDto> orderItems) {
-        // Group by Country
-        Map<Country, Integer> beerQuantitiesByCountry = orderItems.stream()
-                .filter(order -> order.item() instanceof Beer)
-                .collect(Collectors.groupingBy(
-                        order -> ((Beer) order.item()).getCountry(),
-                        Collectors.summingInt(OrderItemDto::amount)
-                ));
-
-        return beerQuantitiesByCountry.entrySet().stream()
-                .mapToDouble(entry -> {
-                    Country country = entry.getKey();
-                    int totalQuantity = entry.getValue();
-                    int numberOfPacks = totalQuantity / 6;
-
-                    double packDiscount = switch (country) {
-                        case BELGIUM -> 3.0;
-                        case NETHERLANDS -> 2.0;
-                        case GERMANY -> 4.0;
-                        default -> 0.0;
-                    };
-
-                    return numberOfPacks * packDiscount;
-                })
-                .sum();
+    public ItemType itemType() {
+        return ItemType.BEER;
     }
 
     @Override
-    public double discountPerItem(OrderItemDto line) {
-        if (!(line.item() instanceof Beer beer)) return 0;
+    public long calculateTotalDiscount(List<OrderItemDto> orderItems) {
+        CartColumns cart = CartColumns.of(orderItems, pricingSnapshots.current());
+
+        long discount = 0;
+        for (Country country : Country.values()) {
+            discount += cart.rules().beerPackDiscount(country, cart.beerQuantity(country));
+        }
+        return discount;
+    }
 
-        int packs = line.amount() / 6;
+    @Override
+    public long discountPerItem(OrderItemDto line) {
+        if (!(line.item() instanceof Beer beer)) return 0;
 
-        double packDiscount = switch (beer.getCountry()) {
-            case BELGIUM -> 3.0;
-            case NETHERLANDS -> 2.0;
-            case GERMANY -> 4.0;
-        };
+        return pricingSnapshots.current().rules().beerPackDiscount(beer.getCountry(), line.amount());
+    }
 
-        return packs * packDiscount;
+    /**
+     * Packs are counted over all beers of the same country in the order; the resulting discount
+     * is shared between that country's rows in proportion to their quantity.
+     */
+    @Override
+    public long discountForRow(CartColumns cart, int row) {
+        if (cart.type(row) != ItemType.BEER) return 0;
+
+        Country country = cart.country(row);
+        int countryQuantity = cart.beerQuantity(country);
+        return Money.share(
+                cart.rules().beerPackDiscount(country, countryQuantity),
+                cart.beerQuantityBefore(row),
+                cart.amount(row),
+                countryQuantity);
     }
 }
-
@@ -1,39 +1,46 @@
 package com.grocerystore.service.discount;
 
 import com.grocerystore.dto.OrderItemDto;
-import com.grocerystore.model.Bread;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public class BreadDiscount implements DiscountStrategy {
 
+    private final PricingSnapshots pricingSnapshots;
+
     @Override
-    public double calculateTotalDiscount(List<OrderItemDto> orderItems) {
-        return orderItems.stream()
-                .mapToDouble(this::calculateDiscountForLine)
-                .sum();
+    public ItemType itemType() {
+        return ItemType.BREAD;
     }
 
     @Override
-    public double discountPerItem(OrderItemDto line) {
-        return calculateDiscountForLine(line);
+    public long calculateTotalDiscount(List<OrderItemDto> orderItems) {
+        CartColumns cart = CartColumns.of(orderItems, pricingSnapshots.current());
+
+        long discount = 0;
+        for (int row = 0; row < cart.size(); row++) {
+            discount += discountForRow(cart, row);
+        }
+        return discount;
     }
 
-    private double calculateDiscountForLine(OrderItemDto line) {
-        if (!(line.item() instanceof Bread bread)) return 0;
-
-        long age = ChronoUnit.DAYS.between(bread.getBakingDate(), LocalDate.now());
-
-        if (age <= 1 || age > 6) return 0;
+    @Override
+    public long discountPerItem(OrderItemDto line) {
+        return discountForRow(CartColumns.of(List.of(line), pricingSnapshots.current()), 0);
+    }
 
-        int free = (age <= 3)
-                ? line.amount() / 2
-                : (line.amount() / 3) * 2;
+    @Override
+    public long discountForRow(CartColumns cart, int row) {
+        if (cart.type(row) != ItemType.BREAD) return 0;
 
-        return free * bread.basePrice();
+        int free = cart.snapshot().breadFreeItems(cart.breadAge(row), cart.amount(row));
+        return free * cart.unitPriceCents(row);
     }
 }
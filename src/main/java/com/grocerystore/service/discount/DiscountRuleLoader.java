@@ -0,0 +1,124 @@
+package com.grocerystore.service.discount;
+
+import com.grocerystore.model.BeerPackRule;
+import com.grocerystore.model.BreadAgeTierRule;
+import com.grocerystore.model.VegetableWeightTierRule;
+import com.grocerystore.repository.BeerPackRuleRepository;
+import com.grocerystore.repository.BreadAgeTierRuleRepository;
+import com.grocerystore.repository.VegetableWeightTierRuleRepository;
+import com.grocerystore.service.discount.DiscountRules.BeerPack;
+import com.grocerystore.service.discount.DiscountRules.BreadAgeTier;
+import com.grocerystore.service.discount.DiscountRules.VegetableWeightTier;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compiles the rule tables into {@link DiscountRules} and publishes them to the
+ * {@link DiscountRuleRegistry}: at startup, every {@code grocery.discount.rules.refresh-interval}
+ * and on demand. A rule set that does not compile is rejected and the current one stays in effect.
+ * Empty rule tables are seeded with {@link DiscountRules#defaults()} at startup.
+ */
+@Slf4j
+@Service
+public class DiscountRuleLoader {
+
+    private final BeerPackRuleRepository beerPackRuleRepository;
+    private final BreadAgeTierRuleRepository breadAgeTierRuleRepository;
+    private final VegetableWeightTierRuleRepository vegetableWeightTierRuleRepository;
+    private final TransactionOperations transaction;
+    private final DiscountRuleRegistry registry;
+
+    @Autowired
+    public DiscountRuleLoader(BeerPackRuleRepository beerPackRuleRepository,
+                              BreadAgeTierRuleRepository breadAgeTierRuleRepository,
+                              VegetableWeightTierRuleRepository vegetableWeightTierRuleRepository,
+                              PlatformTransactionManager transactionManager,
+                              DiscountRuleRegistry registry) {
+        this(beerPackRuleRepository, breadAgeTierRuleRepository, vegetableWeightTierRuleRepository,
+                new TransactionTemplate(transactionManager), registry);
+    }
+
+    DiscountRuleLoader(BeerPackRuleRepository beerPackRuleRepository,
+                       BreadAgeTierRuleRepository breadAgeTierRuleRepository,
+                       VegetableWeightTierRuleRepository vegetableWeightTierRuleRepository,
+                       TransactionOperations transaction,
+                       DiscountRuleRegistry registry) {
+        this.beerPackRuleRepository = beerPackRuleRepository;
+        this.breadAgeTierRuleRepository = breadAgeTierRuleRepository;
+        this.vegetableWeightTierRuleRepository = vegetableWeightTierRuleRepository;
+        this.transaction = transaction;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        transaction.executeWithoutResult(status -> seedDefaultsIfEmpty());
+        reload();
+    }
+
+    /**
+     * Reads and compiles the rule tables and publishes the result.
+     *
+     * @throws IllegalArgumentException when the tables hold an invalid rule set; nothing is published
+     */
+    public DiscountRules reload() {
+        DiscountRules rules = transaction.execute(status -> DiscountRules.compile(
+                beerPackRuleRepository.findAll().stream()
+                        .map(rule -> new BeerPack(rule.getCountry(), rule.getPackSize(), rule.getDiscountCents()))
+                        .toList(),
+                breadAgeTierRuleRepository.findAll().stream()
+                        .map(rule -> new BreadAgeTier(rule.getMaxAgeDays(), rule.getGroupSize(), rule.getFreePerGroup()))
+                        .toList(),
+                vegetableWeightTierRuleRepository.findAll().stream()
+                        .map(rule -> new VegetableWeightTier(rule.getMaxGrams(), rule.getRateBasisPoints()))
+                        .toList()));
+        registry.publish(rules);
+        return rules;
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.discount.rules.refresh-interval:60s}",
+            initialDelayString = "${grocery.discount.rules.refresh-interval:60s}")
+    void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Discount rules not reloaded, keeping the current ones: {}", e.getMessage());
+        }
+    }
+
+    private void seedDefaultsIfEmpty() {
+        DiscountRules defaults = DiscountRules.defaults();
+        if (beerPackRuleRepository.count() == 0) {
+            for (BeerPack pack : defaults.beerPacks()) {
+                BeerPackRule rule = new BeerPackRule();
+                rule.setCountry(pack.country());
+                rule.setPackSize(pack.packSize());
+                rule.setDiscountCents(pack.discountCents());
+                beerPackRuleRepository.save(rule);
+            }
+        }
+        if (breadAgeTierRuleRepository.count() == 0) {
+            for (BreadAgeTier tier : defaults.breadAgeTiers()) {
+                BreadAgeTierRule rule = new BreadAgeTierRule();
+                rule.setMaxAgeDays(tier.maxAgeDays());
+                rule.setGroupSize(tier.groupSize());
+                rule.setFreePerGroup(tier.freePerGroup());
+                breadAgeTierRuleRepository.save(rule);
+            }
+        }
+        if (vegetableWeightTierRuleRepository.count() == 0) {
+            for (VegetableWeightTier tier : defaults.vegetableWeightTiers()) {
+                VegetableWeightTierRule rule = new VegetableWeightTierRule();
+                rule.setMaxGrams(tier.maxGrams());
+                rule.setRateBasisPoints(tier.rateBasisPoints());
+                vegetableWeightTierRuleRepository.save(rule);
+            }
+        }
+    }
+}
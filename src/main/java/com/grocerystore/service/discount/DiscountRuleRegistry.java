@@ -0,0 +1,26 @@
+package com.grocerystore.service.discount;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the discount rules in effect. A reload publishes a fully compiled {@link DiscountRules}
+ * in one reference swap, so readers see either the old set or the new one, never a mix.
+ * Starts out with {@link DiscountRules#defaults()} until the rule tables are loaded.
+ * Publishing a rule set equal to the current one keeps the current instance, so a periodic reload
+ * that finds nothing new does not invalidate what was derived from it.
+ */
+@Component
+public class DiscountRuleRegistry {
+
+    private final AtomicReference<DiscountRules> current = new AtomicReference<>(DiscountRules.defaults());
+
+    public DiscountRules current() {
+        return current.get();
+    }
+
+    public void publish(DiscountRules rules) {
+        current.getAndUpdate(old -> old.equals(rules) ? old : rules);
+    }
+}
@@ -0,0 +1,223 @@
+package com.grocerystore.service.discount;
+
+import com.grocerystore.enums.Country;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable, compiled set of discount rules. Beer packs are arrays indexed by country
+ * ordinal; bread age and vegetable weight tiers are sorted bound arrays searched with
+ * {@link Arrays#binarySearch}, so every lookup is constant time for the handful of rules a shop has.
+ * <p>
+ * A new set is compiled from the rule tables on every reload and published as a whole by
+ * {@link DiscountRuleRegistry}; a cart is priced against the one set it was loaded with.
+ */
+public final class DiscountRules {
+
+    private static final Country[] COUNTRIES = Country.values();
+
+    /**
+     * Every {@code packSize} beers of {@code country} in an order take {@code discountCents} off.
+     */
+    public record BeerPack(Country country, int packSize, long discountCents) {
+    }
+
+    /**
+     * Bread up to {@code maxAgeDays} old (and older than the previous tier): for every
+     * {@code groupSize} loaves, {@code freePerGroup} are free.
+     */
+    public record BreadAgeTier(int maxAgeDays, int groupSize, int freePerGroup) {
+    }
+
+    /**
+     * Orders with up to {@code maxGrams} of vegetables (no limit when null) get
+     * {@code rateBasisPoints} off their vegetables (1% = 100).
+     */
+    public record VegetableWeightTier(Integer maxGrams, int rateBasisPoints) {
+    }
+
+    private static final DiscountRules DEFAULTS = compile(
+            List.of(
+                    new BeerPack(Country.BELGIUM, 6, 300),
+                    new BeerPack(Country.NETHERLANDS, 6, 200),
+                    new BeerPack(Country.GERMANY, 6, 400)),
+            List.of(
+                    new BreadAgeTier(1, 1, 0),
+                    new BreadAgeTier(3, 2, 1),
+                    new BreadAgeTier(6, 3, 2)),
+            List.of(
+                    new VegetableWeightTier(100, 500),
+                    new VegetableWeightTier(500, 700),
+                    new VegetableWeightTier(null, 1000)));
+
+    private final List<BeerPack> beerPacks;
+    private final List<BreadAgeTier> breadAgeTiers;
+    private final List<VegetableWeightTier> vegetableWeightTiers;
+
+    private final int[] packSizeByCountry = new int[COUNTRIES.length];
+    private final long[] packDiscountByCountry = new long[COUNTRIES.length];
+    private final int[] breadMaxAge;
+    private final int[] breadGroupSize;
+    private final int[] breadFreePerGroup;
+    private final int[] vegetableMaxGrams;
+    private final int[] vegetableRate;
+
+    private DiscountRules(List<BeerPack> beerPacks,
+                          List<BreadAgeTier> breadAgeTiers,
+                          List<VegetableWeightTier> vegetableWeightTiers) {
+        this.beerPacks = beerPacks;
+        this.breadAgeTiers = breadAgeTiers;
+        this.vegetableWeightTiers = vegetableWeightTiers;
+
+        for (BeerPack pack : beerPacks) {
+            packSizeByCountry[pack.country().ordinal()] = pack.packSize();
+            packDiscountByCountry[pack.country().ordinal()] = pack.discountCents();
+        }
+
+        breadMaxAge = breadAgeTiers.stream().mapToInt(BreadAgeTier::maxAgeDays).toArray();
+        breadGroupSize = breadAgeTiers.stream().mapToInt(BreadAgeTier::groupSize).toArray();
+        breadFreePerGroup = breadAgeTiers.stream().mapToInt(BreadAgeTier::freePerGroup).toArray();
+
+        vegetableMaxGrams = vegetableWeightTiers.stream()
+                .mapToInt(tier -> tier.maxGrams() == null ? Integer.MAX_VALUE : tier.maxGrams())
+                .toArray();
+        vegetableRate = vegetableWeightTiers.stream().mapToInt(VegetableWeightTier::rateBasisPoints).toArray();
+    }
+
+    /**
+     * The rules the shop started with; used to seed empty rule tables.
+     */
+    public static DiscountRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Validates and compiles a rule set; tiers may be given in any order.
+     *
+     * @throws IllegalArgumentException when a rule is invalid or two rules overlap
+     */
+    public static DiscountRules compile(List<BeerPack> beerPacks,
+                                        List<BreadAgeTier> breadAgeTiers,
+                                        List<VegetableWeightTier> vegetableWeightTiers) {
+        boolean[] seen = new boolean[COUNTRIES.length];
+        for (BeerPack pack : beerPacks) {
+            require(pack.country() != null, "Beer pack without a country");
+            require(!seen[pack.country().ordinal()], "Two beer packs for " + pack.country());
+            require(pack.packSize() > 0, "Beer pack size must be positive: " + pack);
+            require(pack.discountCents() >= 0, "Beer pack discount must not be negative: " + pack);
+            seen[pack.country().ordinal()] = true;
+        }
+
+        List<BreadAgeTier> breadTiers = breadAgeTiers.stream()
+                .sorted(Comparator.comparingInt(BreadAgeTier::maxAgeDays))
+                .toList();
+        for (int i = 0; i < breadTiers.size(); i++) {
+            BreadAgeTier tier = breadTiers.get(i);
+            require(tier.maxAgeDays() >= 0, "Bread tier age must not be negative: " + tier);
+            require(tier.groupSize() > 0, "Bread tier group size must be positive: " + tier);
+            require(tier.freePerGroup() >= 0 && tier.freePerGroup() <= tier.groupSize(),
+                    "Bread tier free items must be between 0 and the group size: " + tier);
+            require(i == 0 || breadTiers.get(i - 1).maxAgeDays() < tier.maxAgeDays(),
+                    "Two bread tiers for age " + tier.maxAgeDays());
+        }
+
+        List<VegetableWeightTier> vegetableTiers = vegetableWeightTiers.stream()
+                .sorted(Comparator.comparing(VegetableWeightTier::maxGrams, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        for (int i = 0; i < vegetableTiers.size(); i++) {
+            VegetableWeightTier tier = vegetableTiers.get(i);
+            require(tier.maxGrams() == null || tier.maxGrams() > 0, "Vegetable tier weight must be positive: " + tier);
+            require(tier.rateBasisPoints() >= 0 && tier.rateBasisPoints() <= 10_000,
+                    "Vegetable tier rate must be between 0 and 10000 basis points: " + tier);
+            require(i == 0 || !Objects.equals(vegetableTiers.get(i - 1).maxGrams(), tier.maxGrams()),
+                    "Two vegetable tiers for weight " + tier.maxGrams());
+        }
+
+        List<BeerPack> packs = beerPacks.stream()
+                .sorted(Comparator.comparing(BeerPack::country))
+                .toList();
+        return new DiscountRules(packs, breadTiers, vegetableTiers);
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Discount in cents on {@code quantity} beers of one country.
+     */
+    public long beerPackDiscount(Country country, int quantity) {
+        int packSize = packSizeByCountry[country.ordinal()];
+        return packSize == 0 ? 0 : (quantity / packSize) * packDiscountByCountry[country.ordinal()];
+    }
+
+    /**
+     * Loaves free among {@code amount} loaves of the given age; none when no tier covers the age.
+     */
+    public int breadFreeItems(long ageDays, int amount) {
+        return breadFreeItemsInTier(breadTierOf(ageDays), amount);
+    }
+
+    /**
+     * Index of the bread tier covering the age, or -1 when none does.
+     */
+    public int breadTierOf(long ageDays) {
+        return tierOf(breadMaxAge, ageDays);
+    }
+
+    public int breadFreeItemsInTier(int tier, int amount) {
+        return tier < 0 ? 0 : (amount / breadGroupSize[tier]) * breadFreePerGroup[tier];
+    }
+
+    /**
+     * Rate in basis points for an order with the given vegetable weight; 0 for no vegetables.
+     */
+    public int vegetableRate(int totalGrams) {
+        int tier = totalGrams == 0 ? -1 : tierOf(vegetableMaxGrams, totalGrams);
+        return tier < 0 ? 0 : vegetableRate[tier];
+    }
+
+    /**
+     * Index of the first tier whose upper bound is at least the value, or -1 past the last tier.
+     */
+    private static int tierOf(int[] upperBounds, long value) {
+        if (upperBounds.length == 0 || value > upperBounds[upperBounds.length - 1]) {
+            return -1;
+        }
+        int found = Arrays.binarySearch(upperBounds, (int) value);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    public List<BeerPack> beerPacks() {
+        return beerPacks;
+    }
+
+    public List<BreadAgeTier> breadAgeTiers() {
+        return breadAgeTiers;
+    }
+
+    public List<VegetableWeightTier> vegetableWeightTiers() {
+        return vegetableWeightTiers;
+    }
+
+    /**
+     * Rule sets are equal when they hold the same rules, however they were listed.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DiscountRules other
+                && beerPacks.equals(other.beerPacks)
+                && breadAgeTiers.equals(other.breadAgeTiers)
+                && vegetableWeightTiers.equals(other.vegetableWeightTiers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(beerPacks, breadAgeTiers, vegetableWeightTiers);
+    }
+}
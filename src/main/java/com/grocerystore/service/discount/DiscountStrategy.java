@@ -1,11 +1,21 @@
 package com.grocerystore.service.discount;
 
 import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.service.pricing.CartColumns;
 
 import java.util.List;
 
 public interface DiscountStrategy {
-    double calculateTotalDiscount(List<OrderItemDto> itemList);
+    ItemType itemType();
 
-    double discountPerItem(OrderItemDto line);
+    long calculateTotalDiscount(List<OrderItemDto> itemList);
+
+    long discountPerItem(OrderItemDto line);
+
+    /**
+     * Discount share in cents of one row of {@link #itemType()} in a loaded cart.
+     * Summing this over all rows of an order yields {@link #calculateTotalDiscount(List)}.
+     */
+    long discountForRow(CartColumns cart, int row);
 }
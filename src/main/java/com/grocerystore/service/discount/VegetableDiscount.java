@@ -1,44 +1,52 @@
 package com.grocerystore.service.discount;
 
 import com.grocerystore.dto.OrderItemDto;
-import com.grocerystore.model.Vegetable;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.service.pricing.CartColumns;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import com.grocerystore.util.Money;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public class VegetableDiscount implements DiscountStrategy {
 
+    private final PricingSnapshots pricingSnapshots;
+
     @Override
-    public double calculateTotalDiscount(List<OrderItemDto> orderItems) {
-        List<OrderItemDto> vegLines = orderItems.stream()
-                .filter(line -> line.item() instanceof Vegetable)
-                .toList();
-
-        double totalDiscount = 0;
-        for (OrderItemDto line : vegLines) {
-            totalDiscount += calculateDiscountForLine(line, vegLines);
-        }
-        return totalDiscount;
+    public ItemType itemType() {
+        return ItemType.VEGETABLE;
     }
 
     @Override
-    public double discountPerItem(OrderItemDto line) {
-        if (!(line.item() instanceof Vegetable)) return 0;
-        return calculateDiscountForLine(line, List.of(line));
+    public long calculateTotalDiscount(List<OrderItemDto> orderItems) {
+        return totalDiscount(CartColumns.of(orderItems, pricingSnapshots.current()));
     }
 
-    private double calculateDiscountForLine(OrderItemDto line, List<OrderItemDto> allVegLines) {
-        int totalWeight = allVegLines.stream().mapToInt(OrderItemDto::amount).sum();
-
-        double discountRate = totalWeight == 0 ? 0
-                : totalWeight <= 100 ? 0.05
-                : totalWeight <= 500 ? 0.07
-                : 0.10;
+    @Override
+    public long discountPerItem(OrderItemDto line) {
+        return discountForRow(CartColumns.of(List.of(line), pricingSnapshots.current()), 0);
+    }
 
-        Vegetable veg = (Vegetable) line.item();
-        double linePrice = veg.basePrice() * line.amount() / 100.0;
+    /**
+     * The rate is picked from the total vegetable weight of the order and taken once from the
+     * order's vegetable total; that discount is then shared over the vegetable rows by price.
+     */
+    @Override
+    public long discountForRow(CartColumns cart, int row) {
+        if (cart.type(row) != ItemType.VEGETABLE) return 0;
+
+        return Money.share(
+                totalDiscount(cart),
+                cart.vegetableGrossBefore(row),
+                cart.grossCents(row),
+                cart.vegetableGross());
+    }
 
-        return linePrice * discountRate;
+    private long totalDiscount(CartColumns cart) {
+        return Money.percentage(cart.vegetableGross(), cart.rules().vegetableRate(cart.vegetableWeight()));
     }
 }
@@ -0,0 +1,459 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Item;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.service.discount.DiscountRules;
+import com.grocerystore.util.Money;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Struct-of-arrays form of a cart for the pricing core: one primitive column per attribute the
+ * discounts need, one row per distinct item. Duplicate lines of an item are merged into a single
+ * row while loading, through an open-addressing index keyed on type and id.
+ * <p>
+ * A cart is loaded against one {@link PricingSnapshot}, i.e. one pricing date and one
+ * {@link DiscountRules} set, which every strategy reads through {@link #snapshot()}, so neither a
+ * rule reload nor midnight changes the rules halfway through pricing a cart.
+ * <p>
+ * Loading also computes the order-wide figures the strategies depend on (beer packs per country,
+ * vegetable weight and gross) and, for every beer and vegetable row, how much of its group came
+ * before it, so an order-level discount can be split over the rows exactly with {@link Money#share}.
+ * <p>
+ * {@link #acquire} hands out an instance from a small shared pool whose buffers are reused from
+ * one cart to the next, so pricing a cart allocates nothing once the buffers are large enough.
+ * The pool does not depend on thread identity: with a virtual thread per request, a per-thread
+ * instance would be allocated for every request and thrown away with its thread. At most
+ * {@link #MAX_POOLED} instances are kept; buffers grown past {@value #MAX_RETAINED_ROWS} rows are
+ * dropped on {@link #release()} rather than pooled. Instances are not thread-safe.
+ * <p>
+ * The amount of an item, repeated lines merged, may not exceed {@link OrderRequestDto#MAX_AMOUNT}:
+ * a cart that goes past it, or whose totals would not fit their columns, is rejected with an
+ * {@link IllegalArgumentException} rather than priced with wrapped-around figures.
+ */
+public final class CartColumns {
+
+    private static final int INITIAL_ROWS = 64;
+    private static final int MAX_RETAINED_ROWS = 16_384;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final Country[] COUNTRIES = Country.values();
+    private static final byte NO_COUNTRY = -1;
+
+    /**
+     * Enough for every core to price a cart, with some left over for carts still being read.
+     */
+    static final int MAX_POOLED = 2 * Runtime.getRuntime().availableProcessors();
+
+    // last in, first out: the most recently used buffers are the likeliest to still be in a CPU cache
+    private static final Deque<CartColumns> POOL = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private boolean inPool;
+    private int size;
+    private int lineCount;
+    private byte[] typeCodes;
+    private long[] ids;
+    private int[] amounts;
+    private long[] unitPriceCents;
+    private byte[] countryOrdinals;
+    private long[] bakingEpochDays;
+    private Item[] items;
+    private long[] grossCents;
+    private long[] groupBefore;
+    private long[] netCents;
+
+    private final int[][] rowsByType = new int[ITEM_TYPES.length][];
+    private final int[] rowCountByType = new int[ITEM_TYPES.length];
+
+    // two longs per slot: the key, then the generation in the high and the row in the low half;
+    // a slot is live only when its generation is the current one, so clearing is O(1)
+    private long[] index;
+    private int generation;
+
+    private PricingSnapshot snapshot;
+    private final int[] beerQuantityByCountry = new int[COUNTRIES.length];
+    private final int[] beerQuantityByCountryBefore = new int[COUNTRIES.length];
+    private int vegetableWeight;
+    private long vegetableGross;
+
+    private CartColumns() {
+        allocate(INITIAL_ROWS);
+    }
+
+    /**
+     * Loads the lines into a new instance.
+     */
+    public static CartColumns of(List<OrderItemDto> lines, PricingSnapshot snapshot) {
+        CartColumns cart = new CartColumns();
+        cart.load(lines, snapshot);
+        return cart;
+    }
+
+    /**
+     * Loads the lines into a pooled instance; call {@link #release()} when done.
+     */
+    public static CartColumns acquire(List<OrderItemDto> lines, PricingSnapshot snapshot) {
+        CartColumns cart = acquire();
+        cart.load(lines, snapshot);
+        return cart;
+    }
+
+    /**
+     * An empty pooled instance for lines {@link #add added} one at a time, e.g. while an order is
+     * still being read; call {@link #complete()} after the last line and {@link #release()} when done.
+     */
+    public static CartColumns acquire(PricingSnapshot snapshot) {
+        CartColumns cart = acquire();
+        cart.start(snapshot);
+        return cart;
+    }
+
+    private static CartColumns acquire() {
+        CartColumns cart = POOL.pollFirst();
+        if (cart == null) {
+            return new CartColumns();
+        }
+        POOLED.decrementAndGet();
+        cart.inPool = false;
+        return cart;
+    }
+
+    /**
+     * Hands the instance back to the pool; it must not be used afterwards.
+     */
+    public void release() {
+        if (inPool) {
+            return;
+        }
+        clear();
+        if (typeCodes.length > MAX_RETAINED_ROWS) {
+            return;
+        }
+        if (POOLED.incrementAndGet() > MAX_POOLED) {
+            POOLED.decrementAndGet();
+            return;
+        }
+        inPool = true;
+        POOL.offerFirst(this);
+    }
+
+    private void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    private void load(List<OrderItemDto> lines, PricingSnapshot snapshot) {
+        start(snapshot);
+        for (int i = 0, n = lines.size(); i < n; i++) {
+            add(lines.get(i));
+        }
+        complete();
+    }
+
+    private void start(PricingSnapshot snapshot) {
+        clear();
+        if (++generation == 0) {
+            Arrays.fill(index, 0);
+            generation = 1;
+        }
+        Arrays.fill(rowCountByType, 0);
+        lineCount = 0;
+        this.snapshot = snapshot;
+        Arrays.fill(beerQuantityByCountry, 0);
+        vegetableWeight = 0;
+        vegetableGross = 0;
+    }
+
+    /**
+     * Adds a line, merging it into the row of its item when the item is already in the cart. The
+     * beer quantities per country and the vegetable weight are kept up to date as lines come in.
+     */
+    public void add(OrderItemDto line) {
+        Item item = line.item();
+        // class checks rather than Item calls: carts mix types, which makes interface calls megamorphic
+        ItemType type;
+        long id;
+        if (item instanceof Beer beer) {
+            type = ItemType.BEER;
+            id = beer.getId();
+            beerQuantityByCountry[beer.getCountry().ordinal()] = sum(beerQuantityByCountry[beer.getCountry().ordinal()], line.amount());
+        } else if (item instanceof Bread bread) {
+            type = ItemType.BREAD;
+            id = bread.getId();
+        } else if (item instanceof Vegetable veg) {
+            type = ItemType.VEGETABLE;
+            id = veg.getId();
+            vegetableWeight = sum(vegetableWeight, line.amount());
+        } else {
+            throw new IllegalArgumentException("Unknown item type");
+        }
+        lineCount++;
+
+        if (size == typeCodes.length) {
+            grow();
+        }
+        long key = id << 2 | type.ordinal();
+        int slot = slotOf(key);
+        if (isLive(slot)) {
+            int row = (int) index[slot + 1];
+            amounts[row] = checkAmount(sum(amounts[row], line.amount()));
+        } else {
+            index[slot] = key;
+            index[slot + 1] = (long) generation << 32 | size;
+            append(item, type, id, checkAmount(line.amount()));
+        }
+    }
+
+    private static int checkAmount(int amount) {
+        if (amount < 1 || amount > OrderRequestDto.MAX_AMOUNT) {
+            throw new IllegalArgumentException("Amount of an item outside 1.." + OrderRequestDto.MAX_AMOUNT);
+        }
+        return amount;
+    }
+
+    private static int sum(int a, int b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Order too large", e);
+        }
+    }
+
+    /**
+     * Computes the row figures that need every line of the order: gross per row, now that
+     * duplicates are merged, and how much of its group came before each row.
+     */
+    public void complete() {
+        try {
+            aggregateBeer();
+            aggregateBread();
+            aggregateVegetables();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Order too large", e);
+        }
+    }
+
+    private void append(Item item, ItemType type, long id, int amount) {
+        int row = size++;
+        typeCodes[row] = (byte) type.ordinal();
+        ids[row] = id;
+        amounts[row] = amount;
+        unitPriceCents[row] = item.basePriceCents();
+        countryOrdinals[row] = item instanceof Beer beer ? (byte) beer.getCountry().ordinal() : NO_COUNTRY;
+        bakingEpochDays[row] = item instanceof Bread bread ? bread.getBakingDate().toEpochDay() : 0;
+        items[row] = item;
+        netCents[row] = 0;
+        rowsByType[type.ordinal()][rowCountByType[type.ordinal()]++] = row;
+    }
+
+    private void aggregateBeer() {
+        int[] before = beerQuantityByCountryBefore;
+        Arrays.fill(before, 0);
+        int[] rows = rowsByType[ItemType.BEER.ordinal()];
+        for (int i = 0, n = rowCountByType[ItemType.BEER.ordinal()]; i < n; i++) {
+            int row = rows[i];
+            grossCents[row] = Math.multiplyExact(unitPriceCents[row], amounts[row]);
+            groupBefore[row] = before[countryOrdinals[row]];
+            before[countryOrdinals[row]] += amounts[row];
+        }
+    }
+
+    private void aggregateBread() {
+        int[] rows = rowsByType[ItemType.BREAD.ordinal()];
+        for (int i = 0, n = rowCountByType[ItemType.BREAD.ordinal()]; i < n; i++) {
+            int row = rows[i];
+            grossCents[row] = Math.multiplyExact(unitPriceCents[row], amounts[row]);
+            groupBefore[row] = 0;
+        }
+    }
+
+    private void aggregateVegetables() {
+        int[] rows = rowsByType[ItemType.VEGETABLE.ordinal()];
+        for (int i = 0, n = rowCountByType[ItemType.VEGETABLE.ordinal()]; i < n; i++) {
+            int row = rows[i];
+            grossCents[row] = Money.perHundredGrams(unitPriceCents[row], amounts[row]);
+            groupBefore[row] = vegetableGross;
+            vegetableGross = Math.addExact(vegetableGross, grossCents[row]);
+        }
+    }
+
+    /**
+     * Position in {@link #index} of the key's slot: the live slot holding it, or the free slot
+     * where it belongs.
+     */
+    private int slotOf(long key) {
+        int mask = (index.length >> 1) - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (isLive(slot << 1) && index[slot << 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot << 1;
+    }
+
+    private boolean isLive(int slot) {
+        return (int) (index[slot + 1] >>> 32) == generation;
+    }
+
+    private void allocate(int rows) {
+        typeCodes = new byte[rows];
+        ids = new long[rows];
+        amounts = new int[rows];
+        unitPriceCents = new long[rows];
+        countryOrdinals = new byte[rows];
+        bakingEpochDays = new long[rows];
+        items = new Item[rows];
+        grossCents = new long[rows];
+        groupBefore = new long[rows];
+        netCents = new long[rows];
+        for (int type = 0; type < ITEM_TYPES.length; type++) {
+            rowsByType[type] = new int[rows];
+        }
+        index = new long[rows * 4];
+        generation = 0;
+    }
+
+    /**
+     * Doubles the row capacity; buffers are sized by distinct items, not by lines, so a large cart
+     * of few items stays small.
+     */
+    private void grow() {
+        int rows = typeCodes.length * 2;
+        typeCodes = Arrays.copyOf(typeCodes, rows);
+        ids = Arrays.copyOf(ids, rows);
+        amounts = Arrays.copyOf(amounts, rows);
+        unitPriceCents = Arrays.copyOf(unitPriceCents, rows);
+        countryOrdinals = Arrays.copyOf(countryOrdinals, rows);
+        bakingEpochDays = Arrays.copyOf(bakingEpochDays, rows);
+        items = Arrays.copyOf(items, rows);
+        grossCents = new long[rows];
+        groupBefore = new long[rows];
+        netCents = new long[rows];
+        for (int type = 0; type < ITEM_TYPES.length; type++) {
+            rowsByType[type] = Arrays.copyOf(rowsByType[type], rows);
+        }
+
+        index = new long[rows * 4];
+        for (int row = 0; row < size; row++) {
+            long key = ids[row] << 2 | typeCodes[row];
+            int slot = slotOf(key);
+            index[slot] = key;
+            index[slot + 1] = (long) generation << 32 | row;
+        }
+    }
+
+    /**
+     * Row of the given item, or -1 when it is not in the cart.
+     */
+    public int rowOf(Item item) {
+        long key = item.getId() << 2 | item.itemType().ordinal();
+        int slot = slotOf(key);
+        return isLive(slot) ? (int) index[slot + 1] : -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of order lines loaded, before duplicates were merged.
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Number of rows of the given type; {@link #row} enumerates them in cart order.
+     */
+    public int rowCount(ItemType type) {
+        return rowCountByType[type.ordinal()];
+    }
+
+    public int row(ItemType type, int i) {
+        return rowsByType[type.ordinal()][i];
+    }
+
+    public ItemType type(int row) {
+        return ITEM_TYPES[typeCodes[row]];
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public int amount(int row) {
+        return amounts[row];
+    }
+
+    public long unitPriceCents(int row) {
+        return unitPriceCents[row];
+    }
+
+    public Country country(int row) {
+        byte ordinal = countryOrdinals[row];
+        return ordinal == NO_COUNTRY ? null : COUNTRIES[ordinal];
+    }
+
+    public long breadAge(int row) {
+        return snapshot.epochDay() - bakingEpochDays[row];
+    }
+
+    public Item item(int row) {
+        return items[row];
+    }
+
+    public long grossCents(int row) {
+        return grossCents[row];
+    }
+
+    public long netCents(int row) {
+        return netCents[row];
+    }
+
+    void setNetCents(int row, long cents) {
+        netCents[row] = cents;
+    }
+
+    public PricingSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public DiscountRules rules() {
+        return snapshot.rules();
+    }
+
+    public int beerQuantity(Country country) {
+        return beerQuantityByCountry[country.ordinal()];
+    }
+
+    /**
+     * Beers of the row's country in the rows before it.
+     */
+    public int beerQuantityBefore(int row) {
+        return (int) groupBefore[row];
+    }
+
+    public int vegetableWeight() {
+        return vegetableWeight;
+    }
+
+    public long vegetableGross() {
+        return vegetableGross;
+    }
+
+    /**
+     * Vegetable gross of the rows before it.
+     */
+    public long vegetableGrossBefore(int row) {
+        return groupBefore[row];
+    }
+}
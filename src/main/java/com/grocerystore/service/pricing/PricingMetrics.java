@@ -0,0 +1,92 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.service.discount.DiscountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the stages of pricing an order, tagged by cart-size bucket (number of request lines).
+ * <p>
+ * {@code grocery.order.stage} times the stages of {@code OrderService.processOrder};
+ * {@code grocery.order.discount} times one discount strategy over all rows of its item type in a
+ * cart. Every timer is registered up front, so recording is a lookup in an array rather than a
+ * registry query. Histogram buckets are configured under
+ * {@code management.metrics.distribution.*.grocery.order}.
+ */
+@Component
+public class PricingMetrics {
+
+    public static final String STAGE_TIMER = "grocery.order.stage";
+    public static final String DISCOUNT_TIMER = "grocery.order.discount";
+
+    private static final String[] CART_SIZE_BUCKETS = {"1-9", "10-99", "100-999", "1000+"};
+
+    public enum Stage {
+        RESOLVE_ITEMS("resolveItems"),
+        VALIDATE_BREAD("validateBread"),
+        GENERATE_ORDER_RECEIPT("generateOrderReceipt");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[][] stageTimers = new Timer[Stage.values().length][CART_SIZE_BUCKETS.length];
+
+    public PricingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            for (int bucket = 0; bucket < CART_SIZE_BUCKETS.length; bucket++) {
+                stageTimers[stage.ordinal()][bucket] = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of pricing an order")
+                        .tag("stage", stage.tag)
+                        .tag("cart.size", CART_SIZE_BUCKETS[bucket])
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Metrics that record nothing, for code that builds the pricing components by hand.
+     */
+    public static PricingMetrics disabled() {
+        return new PricingMetrics(new CompositeMeterRegistry());
+    }
+
+    public void recordStage(Stage stage, int lines, long startNanos) {
+        stageTimers[stage.ordinal()][bucketOf(lines)].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One timer per cart-size bucket for the strategy; index it with {@link #bucketOf}.
+     */
+    public Timer[] discountTimers(DiscountStrategy strategy) {
+        Timer[] timers = new Timer[CART_SIZE_BUCKETS.length];
+        for (int bucket = 0; bucket < CART_SIZE_BUCKETS.length; bucket++) {
+            timers[bucket] = Timer.builder(DISCOUNT_TIMER)
+                    .description("Time spent applying one discount strategy to a cart")
+                    .tag("strategy", strategy.getClass().getSimpleName())
+                    .tag("item.type", strategy.itemType().name())
+                    .tag("cart.size", CART_SIZE_BUCKETS[bucket])
+                    .register(registry);
+        }
+        return timers;
+    }
+
+    public static int bucketOf(int lines) {
+        if (lines < 10) {
+            return 0;
+        }
+        if (lines < 100) {
+            return 1;
+        }
+        return lines < 1000 ? 2 : 3;
+    }
+}
@@ -0,0 +1,59 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.model.Bread;
+import com.grocerystore.service.discount.DiscountRules;
+
+import java.time.LocalDate;
+
+/**
+ * Everything an order is priced against: the pricing date, the discount rules, and the bread
+ * tier of every sellable age on that date. An order takes one snapshot and uses it for
+ * validation and pricing alike, so an order placed around midnight or during a rule reload is
+ * priced consistently.
+ */
+public final class PricingSnapshot {
+
+    private final LocalDate date;
+    private final long epochDay;
+    private final DiscountRules rules;
+    private final int[] breadTierByAge = new int[Bread.MAX_SELLABLE_AGE_DAYS + 1];
+
+    private PricingSnapshot(LocalDate date, DiscountRules rules) {
+        this.date = date;
+        this.epochDay = date.toEpochDay();
+        this.rules = rules;
+        for (int age = 0; age < breadTierByAge.length; age++) {
+            breadTierByAge[age] = rules.breadTierOf(age);
+        }
+    }
+
+    public static PricingSnapshot of(LocalDate date, DiscountRules rules) {
+        return new PricingSnapshot(date, rules);
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public long epochDay() {
+        return epochDay;
+    }
+
+    public DiscountRules rules() {
+        return rules;
+    }
+
+    public boolean isSellable(LocalDate bakingDate) {
+        return epochDay - bakingDate.toEpochDay() <= Bread.MAX_SELLABLE_AGE_DAYS;
+    }
+
+    /**
+     * Loaves free among {@code amount} loaves of the given age; a table lookup for sellable ages.
+     */
+    public int breadFreeItems(long ageDays, int amount) {
+        if (ageDays >= 0 && ageDays < breadTierByAge.length) {
+            return rules.breadFreeItemsInTier(breadTierByAge[(int) ageDays], amount);
+        }
+        return rules.breadFreeItems(ageDays, amount);
+    }
+}
@@ -0,0 +1,47 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.DiscountRules;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out the {@link PricingSnapshot} for today. The snapshot is rebuilt on the first call
+ * after midnight in the clock's zone and after a new rule set is published; otherwise
+ * {@link #current()} costs one clock read and a reference comparison.
+ */
+@Component
+public class PricingSnapshots {
+
+    private final DiscountRuleRegistry discountRuleRegistry;
+    private final Clock clock;
+    private final AtomicReference<Day> current = new AtomicReference<>();
+
+    private record Day(PricingSnapshot snapshot, long validUntilMillis) {
+    }
+
+    public PricingSnapshots(DiscountRuleRegistry discountRuleRegistry, Clock clock) {
+        this.discountRuleRegistry = discountRuleRegistry;
+        this.clock = clock;
+    }
+
+    public PricingSnapshot current() {
+        Day day = current.get();
+        DiscountRules rules = discountRuleRegistry.current();
+        if (day == null || clock.millis() >= day.validUntilMillis() || day.snapshot().rules() != rules) {
+            day = rebuild(rules);
+        }
+        return day.snapshot();
+    }
+
+    private Day rebuild(DiscountRules rules) {
+        LocalDate today = LocalDate.now(clock);
+        long validUntil = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        Day day = new Day(PricingSnapshot.of(today, rules), validUntil);
+        current.set(day);
+        return day;
+    }
+}
@@ -0,0 +1,22 @@
+package com.grocerystore.util;
+
+/**
+ * Builds LIKE patterns for queries that declare {@code escape '\'}.
+ */
+public final class LikePattern {
+
+    private LikePattern() {
+    }
+
+    /**
+     * Pattern matching values that start with the given text, or null when there is nothing to match on.
+     */
+    public static String startsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
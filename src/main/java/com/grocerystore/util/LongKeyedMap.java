@@ -0,0 +1,162 @@
+package com.grocerystore.util;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable map from primitive {@code long} keys to values, held in two flat arrays with open
+ * addressing; lookups neither box the key nor allocate. Changes return a new map and leave this
+ * one untouched, so an instance can be shared between threads without locking.
+ */
+public final class LongKeyedMap<V> {
+
+    private static final LongKeyedMap<?> EMPTY = new LongKeyedMap<>(new long[2], new Object[2], 0);
+
+    private final long[] keys;
+    // a slot is taken when its value is not null
+    private final Object[] values;
+    private final int size;
+
+    private LongKeyedMap(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongKeyedMap<V> empty() {
+        return (LongKeyedMap<V>) EMPTY;
+    }
+
+    /**
+     * Indexes the values by the key each one yields; a later value replaces an earlier one with the same key.
+     */
+    public static <V> LongKeyedMap<V> of(Collection<? extends V> values, ToLongFunction<? super V> keyOf) {
+        int capacity = capacityFor(values.size());
+        long[] keys = new long[capacity];
+        Object[] slots = new Object[capacity];
+        int size = 0;
+        for (V value : values) {
+            if (insert(keys, slots, keyOf.applyAsLong(value), value)) {
+                size++;
+            }
+        }
+        return new LongKeyedMap<>(keys, slots, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copy of this map with the value stored under the key.
+     */
+    public LongKeyedMap<V> with(long key, V value) {
+        int capacity = capacityFor(size + 1);
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int newSize = copyInto(newKeys, newValues, key);
+        insert(newKeys, newValues, key, value);
+        return new LongKeyedMap<>(newKeys, newValues, newSize + 1);
+    }
+
+    /**
+     * Copy of this map with the values stored under the keys they yield, made in one pass however
+     * many values there are; this map itself when there are none.
+     */
+    public LongKeyedMap<V> withAll(Collection<? extends V> added, ToLongFunction<? super V> keyOf) {
+        if (added.isEmpty()) {
+            return this;
+        }
+        int capacity = capacityFor(size + added.size());
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int newSize = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                insert(newKeys, newValues, keys[slot], values[slot]);
+                newSize++;
+            }
+        }
+        for (V value : added) {
+            if (insert(newKeys, newValues, keyOf.applyAsLong(value), value)) {
+                newSize++;
+            }
+        }
+        return new LongKeyedMap<>(newKeys, newValues, newSize);
+    }
+
+    /**
+     * Copy of this map without the key; this map itself when the key is not in it.
+     */
+    public LongKeyedMap<V> without(long key) {
+        if (get(key) == null) {
+            return this;
+        }
+        int capacity = capacityFor(size - 1);
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        return new LongKeyedMap<>(newKeys, newValues, copyInto(newKeys, newValues, key));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Copies every entry except the one with the skipped key and returns how many were copied.
+     */
+    private int copyInto(long[] newKeys, Object[] newValues, long skippedKey) {
+        int copied = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null && keys[slot] != skippedKey) {
+                insert(newKeys, newValues, keys[slot], values[slot]);
+                copied++;
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Stores the value under the key and returns whether the key was new.
+     */
+    private static boolean insert(long[] keys, Object[] values, long key, Object value) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        boolean added = values[slot] == null;
+        keys[slot] = key;
+        values[slot] = value;
+        return added;
+    }
+
+    private static int slotOf(long key, int mask) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    /**
+     * Power of two with room for the entries at a load factor of at most one half.
+     */
+    private static int capacityFor(int entries) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.grocerystore.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Amounts are held as {@code long} euro cents everywhere inside the application; only the REST
+ * DTOs carry decimal euros.
+ * <p>
+ * Rounding policy: whenever a cent amount has to be derived from a fraction (a vegetable price
+ * per 100 g times its weight, a percentage discount) it is rounded half-up to the nearest cent,
+ * once, at the point where the fraction arises. Order-level discounts are rounded once per order
+ * and then split over the lines with {@link #share}, so the lines always add up to the total.
+ * <p>
+ * Products are taken exactly: one that does not fit in a long is finished in {@link BigInteger},
+ * and a result that does not fit throws {@link ArithmeticException} instead of wrapping.
+ */
+public final class Money {
+
+    private Money() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static long toCents(double euros) {
+        return BigDecimal.valueOf(euros)
+                .movePointRight(2)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    public static double toEuros(long cents) {
+        return cents / 100.0;
+    }
+
+    public static long perHundredGrams(long centsPer100Grams, int grams) {
+        return multiplyDivide(centsPer100Grams, grams, 100, RoundingMode.HALF_UP);
+    }
+
+    public static long percentage(long cents, int basisPoints) {
+        return multiplyDivide(cents, basisPoints, 10_000, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Part of {@code total} that belongs to a line of {@code weight}, when the lines before it
+     * weigh {@code weightBefore} and all lines together weigh {@code totalWeight}. Taking the
+     * difference of two cumulative floors means the shares of all lines sum to {@code total}
+     * exactly, without a second pass to distribute the remainder.
+     */
+    public static long share(long total, long weightBefore, long weight, long totalWeight) {
+        if (totalWeight == 0) {
+            return 0;
+        }
+        return multiplyDivide(total, Math.addExact(weightBefore, weight), totalWeight, RoundingMode.DOWN)
+                - multiplyDivide(total, weightBefore, totalWeight, RoundingMode.DOWN);
+    }
+
+    /**
+     * {@code a * b / divisor} for non-negative operands, rounded half-up or truncated.
+     */
+    private static long multiplyDivide(long a, long b, long divisor, RoundingMode rounding) {
+        try {
+            long product = Math.multiplyExact(a, b);
+            return rounding == RoundingMode.HALF_UP
+                    ? Math.addExact(product, divisor / 2) / divisor
+                    : product / divisor;
+        } catch (ArithmeticException e) {
+            return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                    .divide(BigDecimal.valueOf(divisor), 0, rounding)
+                    .longValueExact();
+        }
+    }
+}
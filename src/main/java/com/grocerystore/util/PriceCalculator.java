@@ -15,22 +15,24 @@ public final class PriceCalculator {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
-    public static double calculateGrossTotal(List<OrderItemDto> items) {
-        return items.stream()
-                .mapToDouble(line -> calculateTotal(line.item(), line.amount()))
-                .sum();
+    public static long calculateGrossTotal(List<OrderItemDto> items) {
+        long total = 0;
+        for (OrderItemDto line : items) {
+            total += calculateLineTotal(line.item(), line.amount());
+        }
+        return total;
     }
 
-    private static double calculateTotal(Item item, int amount) {
+    public static long calculateLineTotal(Item item, int amount) {
         if (item instanceof Beer beer) {
-            return beer.basePrice() * amount;
+            return beer.basePriceCents() * amount;
         }
         if (item instanceof Bread bread) {
-            return bread.basePrice() * amount;
+            return bread.basePriceCents() * amount;
         }
         if (item instanceof Vegetable veg) {
-            return veg.getPricePer100Grams() * (amount / 100.0);
+            return Money.perHundredGrams(veg.getPricePer100GramsCents(), amount);
         }
         throw new IllegalArgumentException("Unknown item type");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+-- Changes ddl-auto=update cannot make on its own. Runs before Hibernate touches the schema
+-- (SchemaMigrationConfig), on every start, so each step checks whether it is still needed.
+-- The file is sent as one statement: the DO blocks contain semicolons.
+
+-- Prices moved from double euros to long cents. Add the cents column as nullable, fill it from the
+-- euro column, then make it NOT NULL and drop the euro column, which the entities no longer write.
+do $$
+begin
+    if exists (select 1 from information_schema.columns
+               where table_schema = current_schema() and table_name = 'beer' and column_name = 'price') then
+        alter table beer add column if not exists price_cents bigint;
+        update beer set price_cents = round(price::numeric * 100) where price_cents is null;
+        alter table beer alter column price_cents set not null;
+        alter table beer drop column price;
+    end if;
+
+    if exists (select 1 from information_schema.columns
+               where table_schema = current_schema() and table_name = 'bread' and column_name = 'price') then
+        alter table bread add column if not exists price_cents bigint;
+        update bread set price_cents = round(price::numeric * 100) where price_cents is null;
+        alter table bread alter column price_cents set not null;
+        alter table bread drop column price;
+    end if;
+
+    if exists (select 1 from information_schema.columns
+               where table_schema = current_schema() and table_name = 'vegetable' and column_name = 'price_per_100_grams') then
+        alter table vegetable add column if not exists price_per_100_grams_cents bigint;
+        update vegetable set price_per_100_grams_cents = round(price_per_100_grams::numeric * 100)
+            where price_per_100_grams_cents is null;
+        alter table vegetable alter column price_per_100_grams_cents set not null;
+        alter table vegetable drop column price_per_100_grams;
+    end if;
+end $$;
@@ -0,0 +1,8 @@
+-- Indexes JPA cannot declare: @Index has no operator class. Run after Hibernate has created or
+-- updated the tables (spring.jpa.defer-datasource-initialization), so every statement is idempotent.
+
+-- Name prefix search (name like 'abc%'): a plain btree only serves LIKE under the C collation,
+-- varchar_pattern_ops compares byte-wise and serves it under any collation.
+create index if not exists idx_beer_name_prefix on beer (name varchar_pattern_ops);
+create index if not exists idx_bread_name_prefix on bread (name varchar_pattern_ops);
+create index if not exists idx_vegetable_name_prefix on vegetable (name varchar_pattern_ops);
@@ -0,0 +1,88 @@
+package com.grocerystore.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select lag";
+
+    @Mock
+    private JdbcOperations replicaJdbc;
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    private SimpleMeterRegistry registry;
+    private ReplicaLagMonitor monitor;
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replicaJdbc, LAG_QUERY, Duration.ofSeconds(5), registry);
+        routing = new ReadReplicaRoutingDataSource(primary, replica, monitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testLookupKey_readOnlyTransaction_shouldUseTheReplica() {
+        when(replicaJdbc.queryForObject(LAG_QUERY, Double.class)).thenReturn(0.4);
+        monitor.check();
+
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+        assertEquals(0.4, registry.get("grocery.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void testLookupKey_replicaLagging_shouldFallBackToThePrimary() {
+        when(replicaJdbc.queryForObject(LAG_QUERY, Double.class)).thenReturn(7.5).thenReturn(1.0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        monitor.check();
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(0, registry.get("grocery.datasource.replica.usable").gauge().value());
+
+        monitor.check();
+        assertEquals(ReadReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLookupKey_replicaUnreachable_shouldFallBackToThePrimary() {
+        when(replicaJdbc.queryForObject(LAG_QUERY, Double.class))
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        monitor.check();
+        assertEquals(ReadReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+
+        monitor.check();
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertTrue(Double.isNaN(registry.get("grocery.datasource.replica.lag").gauge().value()));
+    }
+}
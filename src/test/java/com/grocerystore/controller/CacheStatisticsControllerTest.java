@@ -0,0 +1,57 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.dto.CacheRegionStatisticsDto;
+import com.grocerystore.service.CacheStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheStatisticsController.class)
+class CacheStatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Test
+    void testGetCacheStatistics_shouldReturnOneEntryPerRegion() throws Exception {
+        when(cacheStatisticsService.getRegionStatistics()).thenReturn(List.of(
+                new CacheRegionStatisticsDto("beer", 8, 2, 2, 0, 2),
+                new CacheRegionStatisticsDto("bread", 0, 1, 1, 0, -1)));
+
+        mockMvc.perform(get("/api/v1/cache/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].region").value("beer"))
+                .andExpect(jsonPath("$[0].hitCount").value(8))
+                .andExpect(jsonPath("$[0].missCount").value(2))
+                .andExpect(jsonPath("$[0].putCount").value(2))
+                .andExpect(jsonPath("$[0].evictionCount").value(0))
+                .andExpect(jsonPath("$[0].elementCount").value(2))
+                .andExpect(jsonPath("$[1].region").value("bread"))
+                .andExpect(jsonPath("$[1].elementCount").value(-1));
+    }
+
+    @Test
+    void testGetCacheStatistics_noRegions_shouldReturnAnEmptyList() throws Exception {
+        when(cacheStatisticsService.getRegionStatistics()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/cache/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+}
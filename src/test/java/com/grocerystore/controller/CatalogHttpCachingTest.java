@@ -0,0 +1,93 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.service.CatalogSnapshot;
+import com.grocerystore.service.CatalogSnapshots;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogHttpCachingTest {
+
+    private static final long VERSION = Instant.parse("2026-01-10T12:00:00Z").toEpochMilli();
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(VERSION).plusSeconds(60), ZoneOffset.UTC);
+
+    @Mock
+    private CatalogSnapshots catalogSnapshots;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogSnapshots.current()).thenReturn(CatalogSnapshot.empty(VERSION));
+        request = new MockHttpServletRequest("GET", "/api/v1/prices");
+        response = new MockHttpServletResponse();
+    }
+
+    private ResponseEntity.BodyBuilder get(CatalogHttpCaching caching, boolean lastModified) {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        return lastModified ? caching.okUnlessModifiedSince(webRequest) : caching.okUnlessNotModified(webRequest);
+    }
+
+    @Test
+    void testOkUnlessNotModified_currentETag_shouldAnswerNotModified() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\"");
+
+        assertNull(get(new CatalogHttpCaching(catalogSnapshots, clock, Duration.ZERO), false));
+        assertEquals(304, response.getStatus());
+        assertEquals("\"" + VERSION + "\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testOkUnlessNotModified_outdatedETag_shouldSendTheCurrentOne() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + (VERSION - 1) + "\"");
+
+        ResponseEntity<String> ok = get(new CatalogHttpCaching(catalogSnapshots, clock, Duration.ZERO), false).body("{}");
+
+        assertEquals(200, ok.getStatusCode().value());
+        assertEquals("\"" + VERSION + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache", ok.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testOkUnlessModifiedSince_shouldUseTheVersionTime() {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, VERSION);
+
+        assertNull(get(new CatalogHttpCaching(catalogSnapshots, clock, Duration.ZERO), true));
+        assertEquals(304, response.getStatus());
+
+        request = new MockHttpServletRequest("GET", "/api/v1/beers/1");
+        response = new MockHttpServletResponse();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, VERSION - 1000);
+        assertNotNull(get(new CatalogHttpCaching(catalogSnapshots, clock, Duration.ZERO), true));
+        assertEquals(VERSION, response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void testOkUnlessNotModified_changeNewerThanReplicaLag_shouldSendNoValidators() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\"");
+
+        ResponseEntity<String> ok = get(new CatalogHttpCaching(catalogSnapshots, clock, Duration.ofMinutes(2)), false).body("{}");
+
+        assertEquals(200, ok.getStatusCode().value());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,56 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.exception.InvalidContentDigestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDigestTest {
+
+    private static final byte[] BODY = "{\"hello\": \"world\"}".getBytes(StandardCharsets.UTF_8);
+    // the sha-256 example of RFC 9530, section 2
+    private static final String HEADER = "sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:";
+
+    private static void readAll(ContentDigest digest, byte[] body) throws IOException {
+        try (InputStream in = digest.verifying(new ByteArrayInputStream(body))) {
+            in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testParse_sha256_shouldHashToItsHexValue() {
+        ContentDigest digest = ContentDigest.parse("sha-512=:YMAam51Jz/jOATT6/zvHrLVgOYTGFy1d6GJiOHTohq4yP+pgk4vf2aCsyRZOtw8MjkM7iw7yZ/WkppmM44T3qg==:, " + HEADER);
+
+        assertEquals("5f8f04f6a3a892aaabbddb6cf273894493773960d4a325b105fee46eef4304f1", digest.hash());
+    }
+
+    @Test
+    void testVerify_matchingBody_shouldPass() throws IOException {
+        ContentDigest digest = ContentDigest.parse(HEADER);
+        readAll(digest, BODY);
+
+        assertDoesNotThrow(digest::verify);
+    }
+
+    @Test
+    void testVerify_otherBody_shouldBeRejected() throws IOException {
+        ContentDigest digest = ContentDigest.parse(HEADER);
+        readAll(digest, "{\"hello\": \"there\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidContentDigestException.class, digest::verify);
+    }
+
+    @Test
+    void testParse_missingOrMalformed_shouldBeRejected() {
+        assertThrows(InvalidContentDigestException.class, () -> ContentDigest.parse(null));
+        assertThrows(InvalidContentDigestException.class, () -> ContentDigest.parse("sha-512=:YMAam51Jz/jOATT6/zvHrLVgOYTGFy1d6GJiOHTohq4yP+pgk4vf2aCsyRZOtw8MjkM7iw7yZ/WkppmM44T3qg==:"));
+        assertThrows(InvalidContentDigestException.class, () -> ContentDigest.parse("sha-256=X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE="));
+        assertThrows(InvalidContentDigestException.class, () -> ContentDigest.parse("sha-256=:not base64:"));
+        assertThrows(InvalidContentDigestException.class, () -> ContentDigest.parse("sha-256=:AAAA:"));
+    }
+}
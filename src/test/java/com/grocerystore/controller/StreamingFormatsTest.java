@@ -0,0 +1,49 @@
+package com.grocerystore.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingFormatsTest {
+
+    private final StreamingFormats streamingFormats = new StreamingFormats(
+            JsonMapper.builder().build(), CBORMapper.builder().build(), SmileMapper.builder().build());
+
+    private MediaType negotiate(String... accept) throws HttpMediaTypeNotAcceptableException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/prices");
+        for (String value : accept) {
+            request.addHeader(HttpHeaders.ACCEPT, value);
+        }
+        return streamingFormats.negotiate(new ServletWebRequest(request)).mediaType();
+    }
+
+    @Test
+    void testNegotiate_noPreference_shouldUseJson() throws Exception {
+        assertEquals(MediaType.APPLICATION_JSON, negotiate());
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("*/*"));
+    }
+
+    @Test
+    void testNegotiate_binaryFormat_shouldUseItsMapper() throws Exception {
+        assertEquals(MediaType.APPLICATION_CBOR, negotiate("application/cbor"));
+        assertEquals(StreamingFormats.APPLICATION_SMILE, negotiate("application/json;q=0.5, application/x-jackson-smile"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/prices");
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        assertInstanceOf(CBORMapper.class, streamingFormats.negotiate(new ServletWebRequest(request)).mapper());
+    }
+
+    @Test
+    void testNegotiate_unsupportedType_shouldFail() {
+        assertThrows(HttpMediaTypeNotAcceptableException.class, () -> negotiate("application/xml"));
+        assertThrows(HttpMediaTypeNotAcceptableException.class, () -> negotiate("application/cbor;q=0"));
+    }
+}
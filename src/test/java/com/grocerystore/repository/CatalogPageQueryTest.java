@@ -0,0 +1,127 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.BreadDto;
+import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.util.LikePattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.platform=h2"
+})
+class CatalogPageQueryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private BreadRepository breadRepository;
+
+    @Autowired
+    private VegetableRepository vegetableRepository;
+
+    private Beer duvel;
+    private Beer heineken;
+    private Bread rye;
+    private Vegetable carrot;
+
+    @BeforeEach
+    void setUp() {
+        duvel = beer("Duvel", Country.BELGIUM, 500);
+        beer("Leffe", Country.BELGIUM, 300);
+        heineken = beer("Heineken", Country.NETHERLANDS, 250);
+        rye = bread("Rye", TODAY.minusDays(1), 200);
+        bread("Rustic", TODAY.minusDays(5), 400);
+        carrot = vegetable("Carrot", 80);
+        vegetable("Cabbage", 120);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testBeerFindPage_noFilters_shouldReturnEveryRowAfterTheKeyInIdOrder() {
+        List<BeerDto> page = beerRepository.findPage(duvel.getId(), null, null, null, null, Limit.of(10));
+
+        assertEquals(List.of("Leffe", "Heineken"), page.stream().map(BeerDto::name).toList());
+    }
+
+    @Test
+    void testBeerFindPage_someFilters_shouldApplyOnlyThose() {
+        List<BeerDto> page = beerRepository.findPage(0, Country.BELGIUM, null, 400L, null, Limit.of(10));
+
+        assertEquals(List.of(new BeerDto(duvel.getId(), "Duvel", Country.BELGIUM, 5.0)), page);
+    }
+
+    @Test
+    void testBeerFindPage_namePrefix_shouldMatchTheStartOfTheNameOnly() {
+        List<BeerDto> page = beerRepository.findPage(0, null, LikePattern.startsWith("Hei"), null, 300L, Limit.of(10));
+
+        assertEquals(List.of(heineken.getId()), page.stream().map(BeerDto::id).toList());
+        assertTrue(beerRepository.findPage(0, null, LikePattern.startsWith("ei"), null, null, Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void testBeerFindPage_shouldStopAtTheLimit() {
+        List<BeerDto> page = beerRepository.findPage(0, null, null, null, null, Limit.of(2));
+
+        assertEquals(List.of("Duvel", "Leffe"), page.stream().map(BeerDto::name).toList());
+    }
+
+    @Test
+    void testBreadFindPage_dateAndNameFilters_shouldApplyOnlyThose() {
+        List<BreadDto> page = breadRepository.findPage(0, TODAY.minusDays(2), null, LikePattern.startsWith("R"),
+                null, null, Limit.of(10));
+
+        assertEquals(List.of(new BreadDto(rye.getId(), "Rye", TODAY.minusDays(1), 2.0)), page);
+    }
+
+    @Test
+    void testVegetableFindPage_priceRange_shouldApplyBothBounds() {
+        List<VegetableDto> page = vegetableRepository.findPage(0, null, 50L, 100L, Limit.of(10));
+
+        assertEquals(List.of(new VegetableDto(carrot.getId(), "Carrot", 0.8)), page);
+    }
+
+    private Beer beer(String name, Country country, long priceCents) {
+        Beer beer = new Beer();
+        beer.setName(name);
+        beer.setCountry(country);
+        beer.setPriceCents(priceCents);
+        return entityManager.persist(beer);
+    }
+
+    private Bread bread(String name, LocalDate bakingDate, long priceCents) {
+        Bread bread = new Bread();
+        bread.setName(name);
+        bread.setBakingDate(bakingDate);
+        bread.setPriceCents(priceCents);
+        return entityManager.persist(bread);
+    }
+
+    private Vegetable vegetable(String name, long pricePer100GramsCents) {
+        Vegetable vegetable = new Vegetable();
+        vegetable.setName(name);
+        vegetable.setPricePer100GramsCents(pricePer100GramsCents);
+        return entityManager.persist(vegetable);
+    }
+}
@@ -0,0 +1,117 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.CacheRegionStatisticsDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.model.Beer;
+import com.grocerystore.repository.BeerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the real second-level cache (ehcache.xml); every step commits its own transaction,
+ * so a second load goes to the cache instead of the persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.platform=h2"
+})
+@Import(CacheStatisticsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private long beerId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        Beer beer = new Beer();
+        beer.setName("Duvel");
+        beer.setCountry(Country.BELGIUM);
+        beer.setPriceCents(500);
+        beerId = tx.execute(status -> beerRepository.save(beer).getId());
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> beerRepository.deleteAll());
+    }
+
+    private Beer load() {
+        return tx.execute(status -> beerRepository.findById(beerId).orElseThrow());
+    }
+
+    private CacheRegionStatisticsDto region(String name) {
+        return cacheStatisticsService.getRegionStatistics().stream()
+                .filter(region -> region.region().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testGetRegionStatistics_entityLoadedTwice_shouldCountOneMissThenOneHit() {
+        load();
+        CacheRegionStatisticsDto afterFirstLoad = region("beer");
+        load();
+        CacheRegionStatisticsDto afterSecondLoad = region("beer");
+
+        assertEquals(0, afterFirstLoad.hitCount());
+        assertEquals(1, afterFirstLoad.missCount());
+        assertEquals(1, afterFirstLoad.putCount());
+        assertEquals(1, afterSecondLoad.hitCount());
+        assertEquals(1, afterSecondLoad.missCount());
+        assertEquals(1, afterSecondLoad.putCount());
+    }
+
+    @Test
+    void testUpdateThroughHibernate_shouldBeServedFromTheCacheOnTheNextLoad() {
+        load();
+        tx.executeWithoutResult(status -> beerRepository.findById(beerId).orElseThrow().setName("Duvel Tripel Hop"));
+
+        assertEquals("Duvel Tripel Hop", load().getName());
+        assertEquals(1, region("beer").missCount());
+    }
+
+    @Test
+    void testUpdateOutsideHibernate_shouldBeVisibleOnceTheRegionIsEvicted() {
+        load();
+        jdbcTemplate.update("update beer set name = ? where id = ?", "Duvel Tripel Hop", beerId);
+
+        assertEquals("Duvel", load().getName());
+
+        entityManagerFactory.getCache().evict(Beer.class);
+
+        assertEquals("Duvel Tripel Hop", load().getName());
+        assertEquals(2, region("beer").missCount());
+    }
+}
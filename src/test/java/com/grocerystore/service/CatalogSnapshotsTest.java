@@ -0,0 +1,130 @@
+package com.grocerystore.service;
+
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.repository.BeerRepository;
+import com.grocerystore.repository.BreadRepository;
+import com.grocerystore.repository.VegetableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotsTest {
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000), ZoneOffset.UTC);
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BreadRepository breadRepository;
+
+    @Mock
+    private VegetableRepository vegetableRepository;
+
+    private CatalogSnapshots catalogSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshots = new CatalogSnapshots(beerRepository, breadRepository, vegetableRepository,
+                TransactionOperations.withoutTransaction(), clock);
+    }
+
+    private static Beer beer(long id, long priceCents) {
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setName("Duvel");
+        beer.setCountry(Country.BELGIUM);
+        beer.setPriceCents(priceCents);
+        return beer;
+    }
+
+    @Test
+    void testPut_laterChangeToTheEntity_shouldNotReachTheSnapshot() {
+        Beer entity = beer(1, 500);
+        catalogSnapshots.put(entity);
+        CatalogSnapshot snapshot = catalogSnapshots.current();
+
+        entity.setPriceCents(1);
+
+        assertEquals(500, snapshot.find(ItemType.BEER, 1).basePriceCents());
+        assertNotSame(entity, snapshot.find(ItemType.BEER, 1));
+    }
+
+    @Test
+    void testReload_unchangedCatalog_shouldKeepTheCurrentSnapshot() {
+        when(beerRepository.findAll())
+                .thenReturn(List.of(beer(1, 500)))
+                .thenReturn(List.of(beer(1, 500)))
+                .thenReturn(List.of(beer(1, 600)));
+
+        CatalogSnapshot loaded = catalogSnapshots.reload();
+        CatalogSnapshot unchanged = catalogSnapshots.reload();
+        CatalogSnapshot changed = catalogSnapshots.reload();
+
+        assertEquals(1_001, loaded.version());
+        assertSame(loaded, unchanged);
+        assertEquals(1_002, changed.version());
+        assertEquals(600, ((Beer) changed.find(ItemType.BEER, 1)).getPriceCents());
+    }
+
+    @Test
+    void testPut_insideTransaction_shouldApplyAfterCommit() {
+        long version = catalogSnapshots.current().version();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogSnapshots.put(beer(1, 500));
+            assertNull(catalogSnapshots.current().find(ItemType.BEER, 1));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(version + 1, catalogSnapshots.current().version());
+        assertNotNull(catalogSnapshots.current().find(ItemType.BEER, 1));
+    }
+
+    @Test
+    void testRemove_shouldDropOnlyThatItem() {
+        catalogSnapshots.put(beer(1, 500));
+        catalogSnapshots.put(beer(2, 600));
+        CatalogSnapshot before = catalogSnapshots.current();
+
+        catalogSnapshots.remove(ItemType.BEER, 1);
+
+        assertNull(catalogSnapshots.current().find(ItemType.BEER, 1));
+        assertNotNull(catalogSnapshots.current().find(ItemType.BEER, 2));
+        assertNotNull(before.find(ItemType.BEER, 1));
+        assertEquals(before.version() + 1, catalogSnapshots.current().version());
+    }
+
+    @Test
+    void testPut_afterClockMoved_shouldUseTheChangeTimeAsVersion() {
+        Clock later = mock(Clock.class);
+        when(later.millis()).thenReturn(1_000L, 60_000L, 60_000L);
+        CatalogSnapshots snapshots = new CatalogSnapshots(beerRepository, breadRepository, vegetableRepository,
+                TransactionOperations.withoutTransaction(), later);
+
+        snapshots.put(beer(1, 500));
+        assertEquals(60_000, snapshots.current().version());
+        snapshots.put(beer(1, 600));
+        assertEquals(60_001, snapshots.current().version());
+    }
+}
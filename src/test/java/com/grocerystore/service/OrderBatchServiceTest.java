@@ -0,0 +1,75 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.CartRequestDto;
+import com.grocerystore.dto.CartResultDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.service.discount.BeerDiscount;
+import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.VegetableDiscount;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBatchServiceTest {
+
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(discountRuleRegistry, Clock.systemDefaultZone());
+    private final CatalogSnapshots catalogSnapshots = new CatalogSnapshots(null, null, null,
+            TransactionOperations.withoutTransaction(), Clock.systemDefaultZone());
+
+    private OrderBatchService orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        OrderService orderService = new OrderService(
+                new OrderPricingEngine(
+                        List.of(
+                                new BeerDiscount(pricingSnapshots),
+                                new BreadDiscount(pricingSnapshots),
+                                new VegetableDiscount(pricingSnapshots)),
+                        pricingSnapshots,
+                        PricingMetrics.disabled()),
+                catalogSnapshots,
+                PricingMetrics.disabled(),
+                pricingSnapshots,
+                OrderQuoteCache.disabled());
+        orderBatchService = new OrderBatchService(orderService, catalogSnapshots, 2, 10);
+
+        Beer beer = new Beer();
+        beer.setId(1L);
+        beer.setName("Duvel");
+        beer.setCountry(Country.BELGIUM);
+        beer.setPriceCents(500);
+        catalogSnapshots.put(beer);
+    }
+
+    @Test
+    void testProcessBatch_shouldPriceEveryCartAndReportErrorsPerCart() {
+        List<CartResultDto> results = orderBatchService.processBatch(List.of(
+                new CartRequestDto("a", List.of(new OrderRequestDto(ItemType.BEER, 1L, 6))),
+                new CartRequestDto("b", List.of(new OrderRequestDto(ItemType.BEER, 2L, 1))),
+                new CartRequestDto("c", List.of(new OrderRequestDto(ItemType.BEER, 1L, 1)))
+        ));
+
+        assertEquals(List.of("a", "b", "c"), results.stream().map(CartResultDto::cartId).toList());
+        assertEquals(27.0, results.get(0).summary().total(), 0.001);
+        assertNull(results.get(1).summary());
+        assertEquals(HttpStatus.NOT_FOUND, results.get(1).error().status());
+        assertEquals("Items not found: BEER [2]", results.get(1).error().message());
+        assertEquals(5.0, results.get(2).summary().total(), 0.001);
+        assertEquals(results.get(0).summary().catalogVersion(), results.get(2).summary().catalogVersion());
+    }
+}
@@ -0,0 +1,189 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.exception.IdempotencyKeyReusedException;
+import com.grocerystore.model.IdempotencyRecord;
+import com.grocerystore.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyStoreTest {
+
+    private static final String BODY_HASH = "a".repeat(64);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-10T12:00:00Z"), ZoneOffset.UTC);
+    private final List<OrderRequestDto> cart = List.of(new OrderRequestDto(ItemType.BEER, 1L, 6));
+    private final OrderSummaryDto placed = new OrderSummaryDto(List.of(new OrderLineSummaryDto("6 x Duvel (BELGIUM)", 2700)), 2700, 1);
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private OrderIdempotencyStore store;
+    private AtomicInteger orders;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderIdempotencyStore(idempotencyRecordRepository, JsonMapper.builder().build(), clock,
+                Duration.ofHours(24), 100);
+        orders = new AtomicInteger();
+    }
+
+    private OrderSummaryDto placeOrder() {
+        orders.incrementAndGet();
+        return placed;
+    }
+
+    @Test
+    void testExecute_retry_shouldReplayTheFirstResponse() {
+        OrderIdempotencyStore.Outcome first = store.execute("till-1", cart, this::placeOrder);
+        OrderIdempotencyStore.Outcome retry = store.execute("till-1", cart, this::placeOrder);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(placed, retry.order());
+        assertEquals(1, orders.get());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void testExecute_concurrentDuplicate_shouldWaitForTheFirstRequest() throws Exception {
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderIdempotencyStore.Outcome> first = CompletableFuture.supplyAsync(
+                () -> store.execute("till-1", cart, () -> {
+                    placing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return placeOrder();
+                }));
+        placing.await();
+
+        CompletableFuture<OrderIdempotencyStore.Outcome> duplicate = CompletableFuture.supplyAsync(
+                () -> store.execute("till-1", cart, this::placeOrder));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals(placed, first.get().order());
+        assertEquals(placed, duplicate.get().order());
+        assertTrue(duplicate.get().replayed());
+        assertEquals(1, orders.get());
+    }
+
+    @Test
+    void testExecute_keyReusedForAnotherCart_shouldBeRejected() {
+        store.execute("till-1", cart, this::placeOrder);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("till-1",
+                List.of(new OrderRequestDto(ItemType.BEER, 1L, 7)), this::placeOrder));
+        assertEquals(1, orders.get());
+    }
+
+    @Test
+    void testExecute_afterRestart_shouldReplayTheStoredResponse() {
+        store.execute("till-1", cart, this::placeOrder);
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(record.capture());
+        when(idempotencyRecordRepository.findById("till-1")).thenReturn(Optional.of(record.getValue()));
+
+        OrderIdempotencyStore restarted = new OrderIdempotencyStore(idempotencyRecordRepository,
+                JsonMapper.builder().build(), clock, Duration.ofHours(24), 100);
+        OrderIdempotencyStore.Outcome retry = restarted.execute("till-1", cart, this::placeOrder);
+
+        assertTrue(retry.replayed());
+        assertEquals(placed, retry.order());
+        assertEquals(1, orders.get());
+    }
+
+    @Test
+    void testExecute_failedOrder_shouldRunAgainOnRetry() {
+        assertThrows(IllegalArgumentException.class, () -> store.execute("till-1", cart, () -> {
+            orders.incrementAndGet();
+            throw new IllegalArgumentException("Bread too old");
+        }));
+
+        OrderIdempotencyStore.Outcome retry = store.execute("till-1", cart, this::placeOrder);
+
+        assertFalse(retry.replayed());
+        assertEquals(2, orders.get());
+    }
+
+    @Test
+    void testExecuteStreamed_retry_shouldReplayWithoutReadingTheBody() {
+        OrderIdempotencyStore.Outcome first = store.execute("till-1", BODY_HASH, this::placeOrder);
+        OrderIdempotencyStore.Outcome retry = store.execute("till-1", BODY_HASH, () -> {
+            throw new AssertionError("the retry's body must not be read");
+        });
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(placed, retry.order());
+        assertEquals(1, orders.get());
+    }
+
+    @Test
+    void testExecuteStreamed_retryWithAnotherBody_shouldBeRejected() {
+        store.execute("till-1", BODY_HASH, this::placeOrder);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("till-1", "b".repeat(64), () -> {
+            throw new AssertionError("the retry's body must not be read");
+        }));
+        assertEquals(1, orders.get());
+    }
+
+    @Test
+    void testExecuteStreamed_concurrentDuplicate_shouldWaitWithoutReadingTheBody() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderIdempotencyStore.Outcome> first = CompletableFuture.supplyAsync(
+                () -> store.execute("till-1", BODY_HASH, () -> {
+                    reading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return placeOrder();
+                }));
+        reading.await();
+
+        CompletableFuture<OrderIdempotencyStore.Outcome> duplicate = CompletableFuture.supplyAsync(
+                () -> store.execute("till-1", BODY_HASH, this::placeOrder));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        // another body is rejected at once, without waiting for the first
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("till-1", "b".repeat(64), this::placeOrder));
+        release.countDown();
+
+        assertEquals(placed, duplicate.get().order());
+        assertTrue(duplicate.get().replayed());
+        assertFalse(first.get().replayed());
+        assertEquals(1, orders.get());
+    }
+}
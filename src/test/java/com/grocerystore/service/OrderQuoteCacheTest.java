@@ -0,0 +1,110 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.service.discount.DiscountRules;
+import com.grocerystore.service.pricing.PricingSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OrderQuoteCacheTest {
+
+    private final PricingSnapshot today = PricingSnapshot.of(LocalDate.of(2026, 1, 10), DiscountRules.defaults());
+    private final OrderSummaryDto quote = new OrderSummaryDto(List.of(new OrderLineSummaryDto("2 x Duvel (BELGIUM)", 1000)), 1000, 1);
+
+    private SimpleMeterRegistry registry;
+    private OrderQuoteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new OrderQuoteCache(registry, 100, 3);
+    }
+
+    @Test
+    void testKeyOf_shouldMergeDuplicateLines() {
+        OrderQuoteCache.Key split = cache.keyOf(List.of(
+                new OrderRequestDto(ItemType.BEER, 1L, 1),
+                new OrderRequestDto(ItemType.BREAD, 1L, 2),
+                new OrderRequestDto(ItemType.BEER, 1L, 1)), 1, today);
+        OrderQuoteCache.Key merged = cache.keyOf(List.of(
+                new OrderRequestDto(ItemType.BEER, 1L, 2),
+                new OrderRequestDto(ItemType.BREAD, 1L, 2)), 1, today);
+
+        assertEquals(merged, split);
+        assertEquals(merged.hashCode(), split.hashCode());
+    }
+
+    @Test
+    void testKeyOf_shouldKeepLineOrder() {
+        OrderQuoteCache.Key beerFirst = cache.keyOf(List.of(
+                new OrderRequestDto(ItemType.BEER, 1L, 2),
+                new OrderRequestDto(ItemType.BREAD, 1L, 2)), 1, today);
+        OrderQuoteCache.Key breadFirst = cache.keyOf(List.of(
+                new OrderRequestDto(ItemType.BREAD, 1L, 2),
+                new OrderRequestDto(ItemType.BEER, 1L, 2)), 1, today);
+
+        assertNotEquals(beerFirst, breadFirst);
+    }
+
+    @Test
+    void testKeyOf_cartOverLineLimit_shouldNotBeCached() {
+        List<OrderRequestDto> cart = List.of(
+                new OrderRequestDto(ItemType.BEER, 1L, 1),
+                new OrderRequestDto(ItemType.BEER, 2L, 1),
+                new OrderRequestDto(ItemType.BEER, 3L, 1),
+                new OrderRequestDto(ItemType.BEER, 4L, 1));
+
+        OrderQuoteCache.Key key = cache.keyOf(cart, 1, today);
+        cache.put(key, quote);
+
+        assertNull(key);
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void testGet_afterCatalogChangeOrNewDay_shouldMiss() {
+        List<OrderRequestDto> cart = List.of(new OrderRequestDto(ItemType.BEER, 1L, 2));
+        cache.put(cache.keyOf(cart, 1, today), quote);
+        assertEquals(quote, cache.get(cache.keyOf(cart, 1, today)));
+
+        assertNull(cache.get(cache.keyOf(cart, 2, today)));
+
+        cache.put(cache.keyOf(cart, 2, today), quote);
+        PricingSnapshot tomorrow = PricingSnapshot.of(today.date().plusDays(1), DiscountRules.defaults());
+        assertNull(cache.get(cache.keyOf(cart, 2, tomorrow)));
+    }
+
+    @Test
+    void testKeyOf_requestOnPreviousVersion_shouldNotDropNewerQuotes() {
+        List<OrderRequestDto> cart = List.of(new OrderRequestDto(ItemType.BEER, 1L, 2));
+        cache.put(cache.keyOf(cart, 2, today), quote);
+
+        // a request that read the catalog just before the swap
+        cache.keyOf(cart, 1, today);
+
+        assertEquals(quote, cache.get(cache.keyOf(cart, 2, today)));
+    }
+
+    @Test
+    void testMetrics_shouldCountHitsAndMisses() {
+        List<OrderRequestDto> cart = List.of(new OrderRequestDto(ItemType.BEER, 1L, 2));
+        cache.get(cache.keyOf(cart, 1, today));
+        cache.put(cache.keyOf(cart, 1, today), quote);
+        cache.get(cache.keyOf(cart, 1, today));
+        cache.get(cache.keyOf(cart, 1, today));
+
+        assertEquals(2, registry.get("cache.gets").tags("cache", "orderQuotes", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "orderQuotes", "result", "miss").functionCounter().count());
+    }
+}
@@ -4,39 +4,38 @@ import com.grocerystore.dto.OrderRequestDto;
 import com.grocerystore.dto.OrderSummaryDto;
 import com.grocerystore.enums.Country;
 import com.grocerystore.enums.ItemType;
+import com.grocerystore.exception.NotFoundException;
 import com.grocerystore.model.Beer;
 import com.grocerystore.model.Bread;
+import com.grocerystore.model.Item;
 import com.grocerystore.model.Vegetable;
 import com.grocerystore.service.discount.BeerDiscount;
 import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
 import com.grocerystore.service.discount.DiscountStrategy;
 import com.grocerystore.service.discount.VegetableDiscount;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
 
-    @Mock
-    private BeerService beerService;
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(discountRuleRegistry, Clock.systemDefaultZone());
+    private final CatalogSnapshots catalogSnapshots = new CatalogSnapshots(null, null, null,
+            TransactionOperations.withoutTransaction(), Clock.systemDefaultZone());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @Mock
-    private BreadService breadService;
-
-    @Mock
-    private VegetableService vegetableService;
-
-    @InjectMocks
     private OrderService orderService;
 
     private List<DiscountStrategy> discountStrategies;
@@ -49,17 +48,18 @@ class OrderServiceTest {
     void setUp() {
         // Create discount strategies
         discountStrategies = List.of(
-                new BeerDiscount(),
-                new BreadDiscount(),
-                new VegetableDiscount()
+                new BeerDiscount(pricingSnapshots),
+                new BreadDiscount(pricingSnapshots),
+                new VegetableDiscount(pricingSnapshots)
         );
 
         // Inject strategies
         orderService = new OrderService(
-                discountStrategies,
-                beerService,
-                breadService,
-                vegetableService
+                new OrderPricingEngine(discountStrategies, pricingSnapshots, PricingMetrics.disabled()),
+                catalogSnapshots,
+                PricingMetrics.disabled(),
+                pricingSnapshots,
+                new OrderQuoteCache(meterRegistry, 100, 100)
         );
 
         // Create test items
@@ -67,24 +67,30 @@ class OrderServiceTest {
         beer.setId(1L);
         beer.setName("Duvel");
         beer.setCountry(Country.BELGIUM);
-        beer.setPrice(5.0);
+        beer.setPriceCents(500);
 
         bread = new Bread();
         bread.setId(1L);
         bread.setName("White Bread");
-        bread.setPrice(5.0);
+        bread.setPriceCents(500);
         bread.setBakingDate(LocalDate.now().minusDays(3));
 
         vegetable = new Vegetable();
         vegetable.setId(1L);
         vegetable.setName("Broccoli");
-        vegetable.setPricePer100Grams(1.5);
+        vegetable.setPricePer100GramsCents(150);
+    }
+
+    private void stock(Item... items) {
+        for (Item item : items) {
+            catalogSnapshots.put(item);
+        }
     }
 
     @Test
     void testProcessOrder_onlyBeer_noDiscount() {
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.BEER, 1L, 5);
-        when(beerService.getById(1L)).thenReturn(beer);
+        stock(beer);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(orderRequestDto));
 
@@ -95,7 +101,7 @@ class OrderServiceTest {
     @Test
     void testProcessOrder_onlyBeer_withPackDiscount() {
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.BEER, 1L, 6);
-        when(beerService.getById(1L)).thenReturn(beer);
+        stock(beer);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(orderRequestDto));
 
@@ -106,7 +112,7 @@ class OrderServiceTest {
     @Test
     void testProcessOrder_onlyBread_withDiscount() {
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.BREAD, 1L, 4);
-        when(breadService.getById(1L)).thenReturn(bread);
+        stock(bread);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(orderRequestDto));
 
@@ -117,11 +123,11 @@ class OrderServiceTest {
     @Test
     void testProcessOrder_onlyVegetable_withDiscount() {
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.VEGETABLE, 1L, 300);
-        when(vegetableService.getById(1L)).thenReturn(vegetable);
+        stock(vegetable);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(orderRequestDto));
 
-        // Gross: 1.5 * (300/100) = 4.5, Discount: 4.5 * 0.07 = 0.315, Net: 4.5 - 0.315 = 4.185
+        // Gross: 1.5 * (300/100) = 4.5, Discount: 4.5 * 0.07 = 0.315 rounded half-up to 0.32, Net: 4.18
         assertEquals(4.18, orderSummaryDto.total());
     }
 
@@ -131,17 +137,15 @@ class OrderServiceTest {
         OrderRequestDto breadOrder = new OrderRequestDto(ItemType.BREAD, 1L, 4);
         OrderRequestDto vegOrder = new OrderRequestDto(ItemType.VEGETABLE, 1L, 300);
 
-        when(beerService.getById(1L)).thenReturn(beer);
-        when(breadService.getById(1L)).thenReturn(bread);
-        when(vegetableService.getById(1L)).thenReturn(vegetable);
+        stock(beer, bread, vegetable);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(beerOrder, breadOrder, vegOrder));
 
         // Beer Gross: 6 * 5.0 = 30.0, Discount: 3.0 = Net: 27.0
         // Bread Gross: 4 * 5.0 = 20.0, Discount: 10.0 = Net: 10.0
-        // Vegetable Gross: 4.5, Discount: 0.315 = Net: 4.185
-        // Total: 27.0 + 10.0 + 4.185 = ~41.185
-        assertEquals(41.19, orderSummaryDto.total());
+        // Vegetable Gross: 4.5, Discount: 0.315 rounded half-up to 0.32 = Net: 4.18
+        // Total: 27.0 + 10.0 + 4.18 = 41.18
+        assertEquals(41.18, orderSummaryDto.total());
     }
 
     @Test
@@ -150,13 +154,12 @@ class OrderServiceTest {
         beer2.setId(2L);
         beer2.setName("Heineken");
         beer2.setCountry(Country.NETHERLANDS);
-        beer2.setPrice(6.0);
+        beer2.setPriceCents(600);
 
         OrderRequestDto beerOrder1 = new OrderRequestDto(ItemType.BEER, 1L, 4);
         OrderRequestDto beerOrder2 = new OrderRequestDto(ItemType.BEER, 2L, 8);
 
-        when(beerService.getById(1L)).thenReturn(beer);
-        when(beerService.getById(2L)).thenReturn(beer2);
+        stock(beer, beer2);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(beerOrder1, beerOrder2));
 
@@ -171,11 +174,11 @@ class OrderServiceTest {
         Bread oldBread = new Bread();
         oldBread.setId(2L);
         oldBread.setName("Old Bread");
-        oldBread.setPrice(5.0);
+        oldBread.setPriceCents(500);
         oldBread.setBakingDate(LocalDate.now().minusDays(7));
 
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.BREAD, 2L, 2);
-        when(breadService.getById(2L)).thenReturn(oldBread);
+        stock(oldBread);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> orderService.processOrder(List.of(orderRequestDto))
@@ -189,11 +192,11 @@ class OrderServiceTest {
         Bread sixDayBread = new Bread();
         sixDayBread.setId(2L);
         sixDayBread.setName("Six Day Bread");
-        sixDayBread.setPrice(5.0);
+        sixDayBread.setPriceCents(500);
         sixDayBread.setBakingDate(LocalDate.now().minusDays(6));
 
         OrderRequestDto orderRequestDto = new OrderRequestDto(ItemType.BREAD, 2L, 3);
-        when(breadService.getById(2L)).thenReturn(sixDayBread);
+        stock(sixDayBread);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(orderRequestDto));
 
@@ -218,18 +221,18 @@ class OrderServiceTest {
         dutchBeer.setId(2L);
         dutchBeer.setName("Heineken");
         dutchBeer.setCountry(Country.NETHERLANDS);
-        dutchBeer.setPrice(4.0);
+        dutchBeer.setPriceCents(400);
 
         Bread oldBread = new Bread();
         oldBread.setId(2L);
         oldBread.setName("Old Bread");
-        oldBread.setPrice(7.0);
+        oldBread.setPriceCents(700);
         oldBread.setBakingDate(LocalDate.now().minusDays(5));
 
         Vegetable carrot = new Vegetable();
         carrot.setId(2L);
         carrot.setName("Carrot");
-        carrot.setPricePer100Grams(1.0);
+        carrot.setPricePer100GramsCents(100);
 
         OrderRequestDto beerOrder1 = new OrderRequestDto(ItemType.BEER, 1L, 8); // Belgian
         OrderRequestDto beerOrder2 = new OrderRequestDto(ItemType.BEER, 2L, 6); // Dutch
@@ -238,12 +241,7 @@ class OrderServiceTest {
         OrderRequestDto vegOrder1 = new OrderRequestDto(ItemType.VEGETABLE, 1L, 300); // Broccoli
         OrderRequestDto vegOrder2 = new OrderRequestDto(ItemType.VEGETABLE, 2L, 250); // Carrot
 
-        when(beerService.getById(1L)).thenReturn(beer);
-        when(beerService.getById(2L)).thenReturn(dutchBeer);
-        when(breadService.getById(1L)).thenReturn(bread);
-        when(breadService.getById(2L)).thenReturn(oldBread);
-        when(vegetableService.getById(1L)).thenReturn(vegetable);
-        when(vegetableService.getById(2L)).thenReturn(carrot);
+        stock(beer, dutchBeer, bread, oldBread, vegetable, carrot);
 
         OrderSummaryDto orderSummaryDto = orderService.processOrder(List.of(beerOrder1, beerOrder2, breadOrder1,
                 breadOrder2, vegOrder1, vegOrder2));
@@ -270,4 +268,52 @@ class OrderServiceTest {
         assertEquals(89.3, orderSummaryDto.total(), 0.001);
     }
 
+    @Test
+    void testProcessOrder_unknownItems_shouldReportAllMissingIds() {
+        OrderRequestDto knownBeer = new OrderRequestDto(ItemType.BEER, 1L, 2);
+        OrderRequestDto unknownBeer = new OrderRequestDto(ItemType.BEER, 3L, 2);
+        OrderRequestDto unknownVeg = new OrderRequestDto(ItemType.VEGETABLE, 9L, 100);
+
+        stock(beer);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> orderService.processOrder(List.of(knownBeer, unknownBeer, unknownVeg))
+        );
+
+        assertEquals("Items not found: BEER [3], VEGETABLE [9]", exception.getMessage());
+    }
+
+    @Test
+    void testProcessOrder_repeatedCart_shouldBeAnsweredFromQuoteCache() {
+        stock(beer);
+
+        OrderSummaryDto first = orderService.processOrder(List.of(new OrderRequestDto(ItemType.BEER, 1L, 6)));
+        OrderSummaryDto second = orderService.processOrder(List.of(
+                new OrderRequestDto(ItemType.BEER, 1L, 4),
+                new OrderRequestDto(ItemType.BEER, 1L, 2)));
+
+        assertEquals(27.0, first.total(), 0.001);
+        assertEquals(first, second);
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "orderQuotes", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testProcessOrder_afterCatalogChange_shouldRepriceCart() {
+        stock(beer);
+        List<OrderRequestDto> cart = List.of(new OrderRequestDto(ItemType.BEER, 1L, 6));
+        OrderSummaryDto first = orderService.processOrder(cart);
+
+        Beer repricedBeer = new Beer();
+        repricedBeer.setId(1L);
+        repricedBeer.setName("Duvel");
+        repricedBeer.setCountry(Country.BELGIUM);
+        repricedBeer.setPriceCents(600);
+        stock(repricedBeer);
+        OrderSummaryDto repriced = orderService.processOrder(cart);
+
+        // Gross: 6 * 6.0 = 36.0, Discount: 3.0
+        assertEquals(33.0, repriced.total(), 0.001);
+        assertTrue(repriced.catalogVersion() > first.catalogVersion());
+    }
+
 }
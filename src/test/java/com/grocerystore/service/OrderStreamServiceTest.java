@@ -0,0 +1,120 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.exception.InvalidOrderLineException;
+import com.grocerystore.exception.NotFoundException;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.service.discount.BeerDiscount;
+import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.DiscountStrategy;
+import com.grocerystore.service.discount.VegetableDiscount;
+import com.grocerystore.service.pricing.OrderPricingEngine;
+import com.grocerystore.service.pricing.PricingMetrics;
+import com.grocerystore.service.pricing.PricingSnapshots;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStreamServiceTest {
+
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(new DiscountRuleRegistry(), Clock.systemDefaultZone());
+    private final CatalogSnapshots catalogSnapshots = new CatalogSnapshots(null, null, null,
+            TransactionOperations.withoutTransaction(), Clock.systemDefaultZone());
+
+    private OrderService orderService;
+    private OrderStreamService orderStreamService;
+
+    @BeforeEach
+    void setUp() {
+        List<DiscountStrategy> strategies = List.of(
+                new BeerDiscount(pricingSnapshots), new BreadDiscount(pricingSnapshots), new VegetableDiscount(pricingSnapshots));
+        OrderPricingEngine engine = new OrderPricingEngine(strategies, pricingSnapshots, PricingMetrics.disabled());
+        orderService = new OrderService(engine, catalogSnapshots, PricingMetrics.disabled(), pricingSnapshots,
+                new OrderQuoteCache(new SimpleMeterRegistry(), 100, 100));
+        // a chunk of 2 lines, so every order below is resolved over several chunks
+        orderStreamService = new OrderStreamService(catalogSnapshots, pricingSnapshots, engine, PricingMetrics.disabled(),
+                JsonMapper.builder().build(), Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        Beer beer = new Beer();
+        beer.setId(1L);
+        beer.setName("Duvel");
+        beer.setCountry(Country.BELGIUM);
+        beer.setPriceCents(500);
+        Vegetable vegetable = new Vegetable();
+        vegetable.setId(1L);
+        vegetable.setName("Broccoli");
+        vegetable.setPricePer100GramsCents(150);
+        catalogSnapshots.put(beer);
+        catalogSnapshots.put(vegetable);
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testProcessOrder_shouldPriceLikeTheArrayEndpoint() {
+        List<OrderRequestDto> requests = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            requests.add(new OrderRequestDto(ItemType.BEER, 1L, 1));
+            lines.add("{\"type\":\"BEER\",\"itemId\":1,\"amount\":1}");
+            requests.add(new OrderRequestDto(ItemType.VEGETABLE, 1L, 100));
+            lines.add("{\"type\":\"VEGETABLE\",\"itemId\":1,\"amount\":100}");
+        }
+        lines.add("");
+
+        OrderSummaryDto streamed = orderStreamService.processOrder(ndjson(lines.toArray(String[]::new)));
+        OrderSummaryDto expected = orderService.processOrder(requests);
+
+        assertEquals(expected, streamed);
+        assertEquals(2, streamed.lines().size());
+    }
+
+    @Test
+    void testProcessOrder_missingItemsInSeveralChunks_shouldReportThemAll() {
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> orderStreamService.processOrder(ndjson(
+                "{\"type\":\"BEER\",\"itemId\":8,\"amount\":1}",
+                "{\"type\":\"BEER\",\"itemId\":1,\"amount\":1}",
+                "{\"type\":\"BEER\",\"itemId\":9,\"amount\":1}")));
+
+        assertEquals("Items not found: BEER [8, 9]", ex.getMessage());
+    }
+
+    @Test
+    void testProcessOrder_invalidLine_shouldNameTheLine() {
+        InvalidOrderLineException invalid = assertThrows(InvalidOrderLineException.class, () -> orderStreamService.processOrder(ndjson(
+                "{\"type\":\"BEER\",\"itemId\":1,\"amount\":1}",
+                "{\"type\":\"BEER\",\"amount\":1}")));
+        assertEquals("Line 2: itemId must not be null", invalid.getMessage());
+
+        assertThrows(InvalidOrderLineException.class, () -> orderStreamService.processOrder(ndjson("[1, 2")));
+    }
+
+    @Test
+    void testProcessOrder_amountNotPositive_shouldRejectTheLine() {
+        InvalidOrderLineException invalid = assertThrows(InvalidOrderLineException.class, () -> orderStreamService.processOrder(ndjson(
+                "{\"type\":\"BEER\",\"itemId\":1,\"amount\":6}",
+                "{\"type\":\"BEER\",\"itemId\":1,\"amount\":-6}")));
+        assertEquals("Line 2: amount must be greater than 0", invalid.getMessage());
+
+        assertThrows(InvalidOrderLineException.class, () -> orderStreamService.processOrder(ndjson(
+                "{\"type\":\"BEER\",\"itemId\":1,\"amount\":0}")));
+    }
+}
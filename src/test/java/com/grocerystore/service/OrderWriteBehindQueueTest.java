@@ -0,0 +1,182 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.dto.OrderSummaryDto;
+import com.grocerystore.exception.OrderBacklogFullException;
+import com.grocerystore.model.Order;
+import com.grocerystore.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderWriteBehindQueueTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderWriteBehindQueue queue(int capacity, int batchSize) {
+        return new OrderWriteBehindQueue(
+                orderRepository,
+                TransactionOperations.withoutTransaction(),
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry,
+                capacity,
+                batchSize,
+                Duration.ofMillis(10),
+                Duration.ofSeconds(5),
+                2,
+                Duration.ofMillis(1));
+    }
+
+    private double failedOrders() {
+        return meterRegistry.get("grocery.order.write-behind.failed").counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Order> stored() {
+        ArgumentCaptor<List<Order>> batches = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository, atLeastOnce()).saveAll(batches.capture());
+        return batches.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private OrderSummaryDto summary(long totalCents) {
+        return new OrderSummaryDto(List.of(new OrderLineSummaryDto("1 x Duvel (BELGIUM)", totalCents)), totalCents, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStop_shouldStoreEveryQueuedOrderInBatches() {
+        OrderWriteBehindQueue queue = queue(100, 2);
+        queue.start();
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(summary(i * 100L));
+        }
+        queue.stop();
+
+        ArgumentCaptor<List<Order>> batches = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository, atLeast(3)).saveAll(batches.capture());
+        List<Order> stored = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(List.of(100L, 200L, 300L, 400L, 500L), stored.stream().map(Order::getTotalCents).toList());
+        assertEquals(1, stored.getFirst().getLines().getFirst().getLineNumber());
+        assertSame(stored.getFirst(), stored.getFirst().getLines().getFirst().getOrder());
+    }
+
+    @Test
+    void testEnqueue_shouldRejectWhenQueueStaysFull() throws InterruptedException {
+        Object blocked = new Object();
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            synchronized (blocked) {
+                return invocation.getArgument(0);
+            }
+        });
+        OrderWriteBehindQueue queue = queue(1, 1);
+        queue.start();
+        synchronized (blocked) {
+            queue.enqueue(summary(100));
+            // the writer takes the first order and blocks on it; the second one fills the queue
+            Thread.sleep(200);
+            queue.enqueue(summary(200));
+
+            assertThrows(OrderBacklogFullException.class, () -> queue.enqueue(summary(300)));
+        }
+        queue.stop();
+        verify(orderRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void testEnqueue_shouldRejectWhenNotRunning() {
+        OrderWriteBehindQueue queue = queue(10, 10);
+
+        assertThrows(OrderBacklogFullException.class, () -> queue.enqueue(summary(100)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testEnqueue_shouldStampTheOrderWithTheClock() {
+        OrderWriteBehindQueue queue = queue(10, 10);
+        queue.start();
+        queue.enqueue(summary(100));
+        queue.stop();
+
+        assertEquals(NOW, stored().getFirst().getPlacedAt());
+    }
+
+    @Test
+    void testWrite_transientFailure_shouldRetryAndStoreTheBatch() {
+        when(orderRepository.saveAll(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("connection reset"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        OrderWriteBehindQueue queue = queue(10, 10);
+        queue.start();
+        queue.enqueue(summary(100));
+        queue.stop();
+
+        verify(orderRepository, times(2)).saveAll(anyList());
+        assertEquals(100L, stored().getLast().getTotalCents());
+        assertEquals(0, failedOrders());
+    }
+
+    @Test
+    void testWrite_oneBadOrder_shouldStoreTheRestOneByOneAndDeadLetterIt() {
+        CountDownLatch allQueued = new CountDownLatch(1);
+        List<Long> written = new ArrayList<>();
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            // holds the writer until all three orders are queued, so they land in one batch
+            allQueued.await(5, TimeUnit.SECONDS);
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getTotalCents() == 200)) {
+                throw new DataIntegrityViolationException("bad order");
+            }
+            orders.forEach(order -> written.add(order.getTotalCents()));
+            return orders;
+        });
+        OrderWriteBehindQueue queue = queue(10, 10);
+        queue.start();
+        queue.enqueue(summary(100));
+        queue.enqueue(summary(200));
+        queue.enqueue(summary(300));
+        allQueued.countDown();
+        queue.stop();
+
+        assertEquals(List.of(100L, 300L), written.stream().sorted().toList());
+        assertEquals(1, failedOrders());
+        verify(orderRepository, atLeast(3)).saveAll(anyList());
+    }
+
+    @Test
+    void testWrite_transientFailureThatPersists_shouldGiveUpAfterTheRetries() {
+        when(orderRepository.saveAll(anyList())).thenThrow(new TransientDataAccessResourceException("database down"));
+        OrderWriteBehindQueue queue = queue(10, 10);
+        queue.start();
+        queue.enqueue(summary(100));
+        queue.stop();
+
+        verify(orderRepository, times(3)).saveAll(anyList());
+        assertEquals(1, failedOrders());
+    }
+}
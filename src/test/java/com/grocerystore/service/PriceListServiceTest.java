@@ -0,0 +1,140 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.BeerDto;
+import com.grocerystore.dto.BreadDto;
+import com.grocerystore.dto.VegetableDto;
+import com.grocerystore.enums.Country;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceListServiceTest {
+
+    private static final String SMALL_PRICE_LIST = "{\"beers\":[{\"id\":1,\"name\":\"Duvel\",\"country\":\"BELGIUM\",\"price\":5.0}],"
+            + "\"breads\":[{\"id\":2,\"name\":\"Rye\",\"bakingDate\":\"2026-01-02\",\"price\":2.5}],"
+            + "\"vegetables\":[]}";
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private BreadService breadService;
+
+    @Mock
+    private VegetableService vegetableService;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private PriceListService priceListService;
+
+    @BeforeEach
+    void setUp() {
+        priceListService = priceListService(1);
+    }
+
+    private PriceListService priceListService(int parallelStreams) {
+        TransactionOperations counting = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return TransactionOperations.withoutTransaction().execute(action);
+            }
+        };
+        return new PriceListService(
+                beerService,
+                breadService,
+                vegetableService,
+                counting,
+                JsonMapper.builder().build(),
+                parallelStreams);
+    }
+
+    private void stubSmallPriceList() {
+        when(beerService.streamPriceList()).thenAnswer(invocation -> Stream.of(new BeerDto(1L, "Duvel", Country.BELGIUM, 5.0)));
+        when(breadService.streamPriceList()).thenAnswer(invocation -> Stream.of(new BreadDto(2L, "Rye", LocalDate.of(2026, 1, 2), 2.5)));
+        when(vegetableService.streamPriceList()).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @Test
+    void testWritePriceList_shouldWriteAllSectionsInOrder() {
+        stubSmallPriceList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        priceListService.writePriceList(out);
+
+        assertEquals(SMALL_PRICE_LIST, out.toString(StandardCharsets.UTF_8));
+        assertEquals(3, transactions.get());
+    }
+
+    @Test
+    void testWritePriceList_noParallelStreamLeft_shouldReadEverySectionInOneTransaction() {
+        stubSmallPriceList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        priceListService(0).writePriceList(out);
+
+        assertEquals(SMALL_PRICE_LIST, out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, transactions.get());
+    }
+
+    @Test
+    void testWritePriceList_shouldReturnTheParallelStreamWhenDone() {
+        stubSmallPriceList();
+
+        priceListService.writePriceList(new ByteArrayOutputStream());
+        priceListService.writePriceList(new ByteArrayOutputStream());
+
+        assertEquals(6, transactions.get());
+    }
+
+    @Test
+    void testWritePriceList_failedParallelStream_shouldStillReturnIt() {
+        when(beerService.streamPriceList()).thenThrow(new IllegalStateException("cursor broke")).thenReturn(Stream.empty());
+        when(breadService.streamPriceList()).thenAnswer(invocation -> Stream.empty());
+        when(vegetableService.streamPriceList()).thenAnswer(invocation -> Stream.empty());
+
+        assertThrows(IllegalStateException.class, () -> priceListService.writePriceList(new ByteArrayOutputStream()));
+        priceListService.writePriceList(new ByteArrayOutputStream());
+
+        assertEquals(6, transactions.get());
+    }
+
+    @Test
+    void testWritePriceList_shouldStreamMoreRowsThanTheQueueHolds() {
+        when(beerService.streamPriceList()).thenReturn(Stream.empty());
+        when(breadService.streamPriceList()).thenReturn(Stream.empty());
+        when(vegetableService.streamPriceList()).thenReturn(LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> new VegetableDto(id, "Vegetable " + id, 1.0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        priceListService.writePriceList(out);
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.endsWith("{\"id\":10000,\"name\":\"Vegetable 10000\",\"pricePer100Grams\":1.0}]}"));
+    }
+
+    @Test
+    void testWritePriceList_shouldFailWhenASectionFails() {
+        when(beerService.streamPriceList()).thenThrow(new IllegalStateException("cursor broke"));
+        when(breadService.streamPriceList()).thenReturn(Stream.empty());
+        when(vegetableService.streamPriceList()).thenReturn(Stream.empty());
+
+        assertThrows(IllegalStateException.class, () -> priceListService.writePriceList(new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,189 @@
+package com.grocerystore.service.catalogimport;
+
+import com.grocerystore.dto.CatalogImportErrorDto;
+import com.grocerystore.dto.CatalogImportResultDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.exception.InvalidImportFileException;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.repository.BeerRepository;
+import com.grocerystore.repository.BreadRepository;
+import com.grocerystore.repository.VegetableRepository;
+import com.grocerystore.service.CatalogSnapshots;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-10T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BreadRepository breadRepository;
+
+    @Mock
+    private VegetableRepository vegetableRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private CatalogSnapshots catalogSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().when(beerRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(breadRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(vegetableRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private CatalogImportService service(int batchSize, int maxReportedErrors) {
+        return new CatalogImportService(beerRepository, breadRepository, vegetableRepository, entityManager,
+                catalogSnapshots, Validation.buildDefaultValidatorFactory().getValidator(), JsonMapper.builder().build(),
+                clock, TransactionOperations.withoutTransaction(), batchSize, maxReportedErrors);
+    }
+
+    private static ByteArrayInputStream file(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportNdjson_shouldWriteValidRowsInBatchesAndReportTheRest() {
+        CatalogImportResultDto result = service(2, 100).importNdjson(file(
+                "{\"type\":\"BEER\",\"name\":\"Duvel\",\"country\":\"BELGIUM\",\"price\":2.5}",
+                "{\"type\":\"BEER\",\"name\":",
+                "{\"type\":\"BREAD\",\"name\":\"Sourdough\",\"bakingDate\":\"2026-01-09\",\"price\":3.2}",
+                "",
+                "{\"type\":\"VEGETABLE\",\"name\":\"Carrot\"}",
+                "{\"type\":\"VEGETABLE\",\"name\":\"Leek\",\"pricePer100Grams\":0.35}"));
+
+        assertEquals(3, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(2, result.errors().getFirst().line());
+        assertTrue(result.errors().getFirst().message().startsWith("Invalid JSON"));
+        assertEquals(new CatalogImportErrorDto(5, "Price cannot be null"), result.errors().get(1));
+
+        ArgumentCaptor<List<Beer>> beers = ArgumentCaptor.forClass(List.class);
+        verify(beerRepository, times(2)).saveAll(beers.capture());
+        assertEquals(250, beers.getAllValues().getFirst().getFirst().getPriceCents());
+        ArgumentCaptor<List<Vegetable>> vegetables = ArgumentCaptor.forClass(List.class);
+        verify(vegetableRepository, times(2)).saveAll(vegetables.capture());
+        assertEquals(35, vegetables.getAllValues().get(1).getFirst().getPricePer100GramsCents());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(catalogSnapshots, times(2)).putAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsv_shouldMapColumnsByHeader() {
+        CatalogImportResultDto result = service(500, 100).importCsv(file(
+                "\uFEFFprice,type,name,bakingDate",
+                "3.2,BREAD,\"Rye, \"\"dark\"\"\",2026-01-08",
+                "2.5,bread,Baguette,yesterday",
+                "2.5,BREAD,Stale,2026-01-01"));
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(
+                new CatalogImportErrorDto(3, "Invalid bakingDate 'yesterday'"),
+                new CatalogImportErrorDto(4, "Breads older than 6 days cannot be handled.")), result.errors());
+        ArgumentCaptor<List<Bread>> breads = ArgumentCaptor.forClass(List.class);
+        verify(breadRepository).saveAll(breads.capture());
+        Bread rye = breads.getValue().getFirst();
+        assertEquals("Rye, \"dark\"", rye.getName());
+        assertEquals(LocalDate.of(2026, 1, 8), rye.getBakingDate());
+        assertEquals(320, rye.getPriceCents());
+    }
+
+    @Test
+    void testImportCsv_unknownColumn_shouldRejectTheFile() {
+        CatalogImportService service = service(500, 100);
+
+        assertThrows(InvalidImportFileException.class, () -> service.importCsv(file("type,name,colour", "BEER,Duvel,gold")));
+        assertThrows(InvalidImportFileException.class, () -> service.importCsv(file("name,price", "Duvel,2.5")));
+        verify(beerRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testImport_beerCountryTaken_shouldRejectTheRow() {
+        when(beerRepository.findCountries()).thenReturn(List.of(Country.BELGIUM));
+
+        CatalogImportResultDto result = service(500, 100).importCsv(file(
+                "type,name,country,price",
+                "BEER,Duvel,BELGIUM,2.5",
+                "BEER,Heineken,NETHERLANDS,1.5",
+                "BEER,Grolsch,NETHERLANDS,1.6"));
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(
+                new CatalogImportErrorDto(2, "Beer already exists."),
+                new CatalogImportErrorDto(4, "Beer already exists.")), result.errors());
+    }
+
+    @Test
+    void testImport_batchConflict_shouldRetryRowsOneByOne() {
+        when(beerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Beer> beers = invocation.getArgument(0);
+            if (beers.stream().anyMatch(beer -> beer.getName().equals("Duvel"))) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            return beers;
+        });
+
+        CatalogImportResultDto result = service(500, 100).importCsv(file(
+                "type,name,country,price",
+                "BEER,Duvel,NETHERLANDS,2.5",
+                "BEER,Paulaner,GERMANY,1.9",
+                "BEER,Westmalle,BELGIUM,3.1"));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(new CatalogImportErrorDto(2, "Conflicts with an existing item.")), result.errors());
+        verify(beerRepository, times(4)).saveAll(anyList());
+    }
+
+    @Test
+    void testImport_manyBadRows_shouldCountAllButReportTheFirstOnes() {
+        CatalogImportResultDto result = service(500, 2).importNdjson(file(
+                "{\"name\":\"Nothing\"}",
+                "{\"type\":\"FRUIT\"}",
+                "not json",
+                "{\"type\":\"VEGETABLE\",\"name\":\"Leek\",\"pricePer100Grams\":-1}"));
+
+        assertEquals(0, result.imported());
+        assertEquals(4, result.rejected());
+        assertEquals(List.of(1L, 2L), result.errors().stream().map(CatalogImportErrorDto::line).toList());
+        assertEquals("Type cannot be null", result.errors().getFirst().message());
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -1,12 +1,14 @@
 package com.grocerystore.service.discount;
 
-import com.grocerystore.enums.Country;
 import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.enums.Country;
 import com.grocerystore.model.Beer;
 import com.grocerystore.model.Bread;
+import com.grocerystore.service.pricing.PricingSnapshots;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class BeerDiscountTest {
 
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(discountRuleRegistry, Clock.systemDefaultZone());
+
     private BeerDiscount beerDiscount;
     private Beer belgianBeer;
     private Beer dutchBeer;
@@ -22,33 +27,33 @@ class BeerDiscountTest {
 
     @BeforeEach
     void setUp() {
-        beerDiscount = new BeerDiscount();
+        beerDiscount = new BeerDiscount(pricingSnapshots);
 
         belgianBeer = new Beer();
         belgianBeer.setId(1L);
         belgianBeer.setName("Duvel");
         belgianBeer.setCountry(Country.BELGIUM);
-        belgianBeer.setPrice(5.0);
+        belgianBeer.setPriceCents(500);
 
         dutchBeer = new Beer();
         dutchBeer.setId(2L);
         dutchBeer.setName("Heineken");
         dutchBeer.setCountry(Country.NETHERLANDS);
-        dutchBeer.setPrice(4.0);
+        dutchBeer.setPriceCents(400);
 
         germanBeer = new Beer();
         germanBeer.setId(3L);
         germanBeer.setName("Beck's");
         germanBeer.setCountry(Country.GERMANY);
-        germanBeer.setPrice(3.5);
+        germanBeer.setPriceCents(350);
     }
 
     @Test
     void testNoBeerInOrder_shouldReturnZeroDiscount() {
         List<OrderItemDto> orderItems = new ArrayList<>();
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(0.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(0, discount);
     }
 
     @Test
@@ -56,78 +61,78 @@ class BeerDiscountTest {
         Bread bread = new Bread();
         bread.setId(1L);
         bread.setName("White Bread");
-        bread.setPrice(5.0);
+        bread.setPriceCents(500);
         bread.setBakingDate(LocalDate.now().minusDays(3));
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread, 4));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(0.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(0, discount);
     }
 
     @Test
     void testBelgianBeer_lessThan6_shouldReturnZeroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(belgianBeer, 5));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(0.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(0, discount);
     }
 
     @Test
     void testBelgianBeer_exactly6_shouldGet3EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(belgianBeer, 6));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
         // 1 pack * 3.0 EUR = 3.0
-        assertEquals(3.0, discount, 0.001);
+        assertEquals(300, discount);
     }
 
     @Test
     void testBelgianBeer_12beers_shouldGet6EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(belgianBeer, 12));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(6.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(600, discount);
     }
 
     @Test
     void testBelgianBeer_13beers_shouldStillGet6EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(belgianBeer, 13));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(6.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(600, discount);
     }
 
     @Test
     void testDutchBeer_exactly6_shouldGet2EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(dutchBeer, 6));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(2.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(200, discount);
     }
 
     @Test
     void testDutchBeer_18beers_shouldGet6EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(dutchBeer, 18));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(6.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(600, discount);
     }
 
     @Test
     void testGermanBeer_exactly6_shouldGet4EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(germanBeer, 6));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(4.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(400, discount);
     }
 
     @Test
     void testGermanBeer_24beers_shouldGet16EuroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(germanBeer, 24));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(16.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(1600, discount);
     }
 
     @Test
@@ -138,8 +143,8 @@ class BeerDiscountTest {
                 new OrderItemDto(germanBeer, 6)   // 1 pack * 4.0 = 4.0
         );
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(9.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(900, discount);
     }
 
     @Test
@@ -148,16 +153,16 @@ class BeerDiscountTest {
         belgianBeer2.setId(4L);
         belgianBeer2.setName("Westmalle");
         belgianBeer2.setCountry(Country.BELGIUM);
-        belgianBeer2.setPrice(6.0);
+        belgianBeer2.setPriceCents(600);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(belgianBeer, 4),  // 4 Belgian
                 new OrderItemDto(belgianBeer2, 8)  // 8 Belgian
         );
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
         // Total Belgian beers: 4 + 8 = 12 (2 packs)
-        assertEquals(6.0, discount, 0.001);
+        assertEquals(600, discount);
     }
 
     @Test
@@ -166,16 +171,16 @@ class BeerDiscountTest {
         dutchBeer2.setId(5L);
         dutchBeer2.setName("Grolsch");
         dutchBeer2.setCountry(Country.NETHERLANDS);
-        dutchBeer2.setPrice(3.8);
+        dutchBeer2.setPriceCents(380);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(dutchBeer, 5),   // 5 Dutch
                 new OrderItemDto(dutchBeer2, 7)   // 7 Dutch
         );
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
         // Total Dutch beers: 5 + 7 = 12 (2 packs)
-        assertEquals(4.0, discount, 0.001);
+        assertEquals(400, discount);
     }
 
     @Test
@@ -183,7 +188,7 @@ class BeerDiscountTest {
         Bread bread = new Bread();
         bread.setId(1L);
         bread.setName("White Bread");
-        bread.setPrice(5.0);
+        bread.setPriceCents(500);
         bread.setBakingDate(LocalDate.now().minusDays(3));
 
         List<OrderItemDto> orderItems = List.of(
@@ -191,9 +196,9 @@ class BeerDiscountTest {
                 new OrderItemDto(belgianBeer, 12)
         );
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
         // 12 Belgian beers = 2 packs * 3.0 = 6.0
-        assertEquals(6.0, discount, 0.001);
+        assertEquals(600, discount);
     }
 
     @Test
@@ -202,13 +207,13 @@ class BeerDiscountTest {
         belgianBeer2.setId(4L);
         belgianBeer2.setName("Westmalle");
         belgianBeer2.setCountry(Country.BELGIUM);
-        belgianBeer2.setPrice(6.0);
+        belgianBeer2.setPriceCents(600);
 
         Beer germanBeer2 = new Beer();
         germanBeer2.setId(5L);
         germanBeer2.setName("Warsteiner");
         germanBeer2.setCountry(Country.GERMANY);
-        germanBeer2.setPrice(3.8);
+        germanBeer2.setPriceCents(380);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(belgianBeer, 7),   // 7 Belgian
@@ -218,20 +223,20 @@ class BeerDiscountTest {
                 new OrderItemDto(germanBeer2, 8)    // 8 German -> Total: 18 (3 packs)
         );
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
 
         // Then
         // Belgian: 12 total = 2 packs * 3.0 = 6.0
         // Dutch: 8 total = 1 pack * 2.0 = 2.0
         // German: 18 total = 3 packs * 4.0 = 12.0
-        assertEquals(20.0, discount, 0.001);
+        assertEquals(2000, discount);
     }
 
     @Test
     void testSingleBeer_shouldReturnZeroDiscount() {
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(belgianBeer, 1));
 
-        double discount = beerDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(0.0, discount, 0.001);
+        long discount = beerDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(0, discount);
     }
 }
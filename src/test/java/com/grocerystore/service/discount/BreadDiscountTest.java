@@ -1,12 +1,14 @@
 package com.grocerystore.service.discount;
 
-import com.grocerystore.enums.Country;
 import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.enums.Country;
 import com.grocerystore.model.Beer;
 import com.grocerystore.model.Bread;
+import com.grocerystore.service.pricing.PricingSnapshots;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,31 +17,34 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class BreadDiscountTest {
 
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(discountRuleRegistry, Clock.systemDefaultZone());
+
     private BreadDiscount breadDiscount;
     private Bread bread1;
     private Bread bread2;
 
     @BeforeEach
     void setUp() {
-        breadDiscount = new BreadDiscount();
+        breadDiscount = new BreadDiscount(pricingSnapshots);
 
         bread1 = new Bread();
         bread1.setId(1L);
         bread1.setName("White Bread");
-        bread1.setPrice(5.0);
+        bread1.setPriceCents(500);
 
         bread2 = new Bread();
         bread2.setId(2L);
         bread2.setName("Whole Wheat");
-        bread2.setPrice(7.0);
+        bread2.setPriceCents(700);
     }
 
     @Test
     void testNoBreadInOrder_shouldReturnZeroDiscount() {
         List<OrderItemDto> orderItems = new ArrayList<>();
 
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
-        assertEquals(0.0, discount, 0.001);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
+        assertEquals(0, discount);
     }
 
     @Test
@@ -47,9 +52,9 @@ class BreadDiscountTest {
         bread1.setBakingDate(LocalDate.now().minusDays(1));
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 4));
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
-        assertEquals(0.0, discount, 0.001);
+        assertEquals(0, discount);
     }
 
     @Test
@@ -57,9 +62,9 @@ class BreadDiscountTest {
         bread1.setBakingDate(LocalDate.now());
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 4));
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
-        assertEquals(0.0, discount, 0.001);
+        assertEquals(0, discount);
     }
 
     @Test
@@ -68,11 +73,11 @@ class BreadDiscountTest {
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 4));// 4 breads = 2 free
 
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
         // 4 breads: 4/2 = 2 free items
         // Discount: 2 * 5.0 = 10.0
-        assertEquals(10.0, discount, 0.001);
+        assertEquals(1000, discount);
     }
 
     @Test
@@ -81,11 +86,11 @@ class BreadDiscountTest {
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 5));
 
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
         // 5 breads: 5/2 = 2 free items
         // Discount: 2 * 5.0 = 10.0
-        assertEquals(10.0, discount, 0.001);
+        assertEquals(1000, discount);
     }
 
     @Test
@@ -93,11 +98,11 @@ class BreadDiscountTest {
         bread1.setBakingDate(LocalDate.now().minusDays(4));
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 6));
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
         // 6 breads: (6/3) * 2 = 4 free items
         // Discount: 4 * 5.0 = 20.0
-        assertEquals(20.0, discount, 0.001);
+        assertEquals(2000, discount);
     }
 
     @Test
@@ -105,20 +110,20 @@ class BreadDiscountTest {
         bread1.setBakingDate(LocalDate.now().minusDays(6));
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 7));
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
         // 7 breads: (7/3) * 2 = 4 free items
         // Discount: 4 * 5.0 = 20.0
-        assertEquals(20.0, discount, 0.001);
+        assertEquals(2000, discount);
     }
 
     @Test
     void testMultipleBreadsSameAge() { //******
         bread1.setBakingDate(LocalDate.now().minusDays(3));
-        bread1.setPrice(5.0);
+        bread1.setPriceCents(500);
 
         bread2.setBakingDate(LocalDate.now().minusDays(3));
-        bread2.setPrice(7.0);
+        bread2.setPriceCents(700);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(bread1, 4), // 4 breads = 2 free * 5.0 = 10.0
@@ -126,29 +131,29 @@ class BreadDiscountTest {
         );
 
         // When
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
         // Then
         // Total discount: 10.0 + 21.0 = 31.0
-        assertEquals(31.0, discount, 0.001);
+        assertEquals(3100, discount);
     }
 
     @Test
     void testMultipleBreadsDifferentAges() {
         bread1.setBakingDate(LocalDate.now().minusDays(2));
-        bread1.setPrice(5.0);
+        bread1.setPriceCents(500);
 
         bread2.setBakingDate(LocalDate.now().minusDays(5));
-        bread2.setPrice(7.0);
+        bread2.setPriceCents(700);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(bread1, 4), // 4 breads = 2 free * 5.0 = 10.0
                 new OrderItemDto(bread2, 6)  // 6 breads = 4 free * 7.0 = 28.0
         );
 
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
-        assertEquals(38.0, discount, 0.001);
+        assertEquals(3800, discount);
     }
 
     @Test
@@ -158,19 +163,19 @@ class BreadDiscountTest {
         beer.setId(1L);
         beer.setName("Duvel");
         beer.setCountry(Country.BELGIUM);
-        beer.setPrice(5.0);
+        beer.setPriceCents(500);
 
         bread1.setBakingDate(LocalDate.now().minusDays(3));
-        bread1.setPrice(5.0);
+        bread1.setPriceCents(500);
 
         List<OrderItemDto> orderItems = List.of(
                 new OrderItemDto(beer, 6),    // Beer (ignored)
                 new OrderItemDto(bread1, 4)   // 4 breads = 2 free * 5.0 = 10.0
         );
 
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
-        assertEquals(10.0, discount, 0.001);
+        assertEquals(1000, discount);
     }
 
     @Test
@@ -178,9 +183,9 @@ class BreadDiscountTest {
         bread1.setBakingDate(LocalDate.now().minusDays(1));
 
         List<OrderItemDto> orderItems = List.of(new OrderItemDto(bread1, 10));
-        double discount = breadDiscount.calculateTotalDiscount(orderItems);
+        long discount = breadDiscount.calculateTotalDiscount(orderItems);
 
-        assertEquals(0.0, discount, 0.001);
+        assertEquals(0, discount);
     }
 
 }
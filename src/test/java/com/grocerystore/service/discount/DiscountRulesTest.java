@@ -0,0 +1,94 @@
+package com.grocerystore.service.discount;
+
+import com.grocerystore.enums.Country;
+import com.grocerystore.service.discount.DiscountRules.BeerPack;
+import com.grocerystore.service.discount.DiscountRules.BreadAgeTier;
+import com.grocerystore.service.discount.DiscountRules.VegetableWeightTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountRulesTest {
+
+    @Test
+    void testBeerPackDiscount_shouldApplyPerCountryPack() {
+        DiscountRules rules = DiscountRules.defaults();
+
+        assertEquals(600, rules.beerPackDiscount(Country.BELGIUM, 13));
+        assertEquals(0, rules.beerPackDiscount(Country.GERMANY, 5));
+    }
+
+    @Test
+    void testBeerPackDiscount_shouldBeZeroForCountryWithoutRule() {
+        DiscountRules rules = DiscountRules.compile(
+                List.of(new BeerPack(Country.BELGIUM, 6, 300)), List.of(), List.of());
+
+        assertEquals(0, rules.beerPackDiscount(Country.GERMANY, 12));
+    }
+
+    @Test
+    void testBreadFreeItems_shouldPickTierByAge() {
+        DiscountRules rules = DiscountRules.defaults();
+
+        assertEquals(0, rules.breadFreeItems(1, 4));
+        assertEquals(2, rules.breadFreeItems(2, 4));
+        assertEquals(2, rules.breadFreeItems(3, 5));
+        assertEquals(2, rules.breadFreeItems(4, 3));
+        assertEquals(4, rules.breadFreeItems(6, 7));
+        assertEquals(0, rules.breadFreeItems(7, 6));
+    }
+
+    @Test
+    void testVegetableRate_shouldPickTierByWeight() {
+        DiscountRules rules = DiscountRules.defaults();
+
+        assertEquals(0, rules.vegetableRate(0));
+        assertEquals(500, rules.vegetableRate(100));
+        assertEquals(700, rules.vegetableRate(101));
+        assertEquals(700, rules.vegetableRate(500));
+        assertEquals(1000, rules.vegetableRate(100_000));
+    }
+
+    @Test
+    void testCompile_shouldSortTiersGivenInAnyOrder() {
+        DiscountRules rules = DiscountRules.compile(
+                List.of(),
+                List.of(new BreadAgeTier(6, 3, 2), new BreadAgeTier(3, 2, 1)),
+                List.of(new VegetableWeightTier(null, 1000), new VegetableWeightTier(100, 500)));
+
+        assertEquals(1, rules.breadFreeItems(0, 2));
+        assertEquals(500, rules.vegetableRate(50));
+        assertEquals(1000, rules.vegetableRate(101));
+    }
+
+    @Test
+    void testPublish_equalRules_shouldKeepTheCurrentInstance() {
+        DiscountRuleRegistry registry = new DiscountRuleRegistry();
+        DiscountRules reloaded = DiscountRules.compile(
+                List.of(new BeerPack(Country.GERMANY, 6, 400), new BeerPack(Country.NETHERLANDS, 6, 200),
+                        new BeerPack(Country.BELGIUM, 6, 300)),
+                List.of(new BreadAgeTier(6, 3, 2), new BreadAgeTier(3, 2, 1), new BreadAgeTier(1, 1, 0)),
+                List.of(new VegetableWeightTier(null, 1000), new VegetableWeightTier(500, 700),
+                        new VegetableWeightTier(100, 500)));
+
+        registry.publish(reloaded);
+
+        assertEquals(DiscountRules.defaults(), reloaded);
+        assertSame(DiscountRules.defaults(), registry.current());
+    }
+
+    @Test
+    void testCompile_shouldRejectOverlappingOrInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.compile(
+                List.of(new BeerPack(Country.BELGIUM, 6, 300), new BeerPack(Country.BELGIUM, 12, 700)),
+                List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.compile(
+                List.of(new BeerPack(Country.BELGIUM, 0, 300)), List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.compile(
+                List.of(), List.of(new BreadAgeTier(3, 2, 3)), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.compile(
+                List.of(), List.of(), List.of(new VegetableWeightTier(100, 500), new VegetableWeightTier(100, 700))));
+    }
+}
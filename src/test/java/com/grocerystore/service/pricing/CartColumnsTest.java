@@ -0,0 +1,175 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderRequestDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.enums.ItemType;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.service.discount.DiscountRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CartColumnsTest {
+
+    private final LocalDate today = LocalDate.of(2026, 1, 10);
+    private Beer beer;
+    private Bread bread;
+    private Vegetable vegetable;
+
+    @BeforeEach
+    void setUp() {
+        beer = new Beer();
+        beer.setId(1L);
+        beer.setCountry(Country.GERMANY);
+        beer.setPriceCents(400);
+
+        // same id as the beer, must still get a row of its own
+        bread = new Bread();
+        bread.setId(1L);
+        bread.setPriceCents(250);
+        bread.setBakingDate(today.minusDays(2));
+
+        vegetable = new Vegetable();
+        vegetable.setId(7L);
+        vegetable.setPricePer100GramsCents(120);
+    }
+
+    @Test
+    void testLoad_shouldMergeDuplicatesPerTypeAndId() {
+        CartColumns cart = CartColumns.of(List.of(
+                new OrderItemDto(beer, 2),
+                new OrderItemDto(bread, 1),
+                new OrderItemDto(vegetable, 150),
+                new OrderItemDto(beer, 4)
+        ), PricingSnapshot.of(today, DiscountRules.defaults()));
+
+        assertEquals(3, cart.size());
+        assertEquals(ItemType.BEER, cart.type(0));
+        assertEquals(6, cart.amount(0));
+        assertEquals(2400, cart.grossCents(0));
+        assertEquals(Country.GERMANY, cart.country(0));
+        assertEquals(ItemType.BREAD, cart.type(1));
+        assertEquals(2, cart.breadAge(1));
+        assertEquals(180, cart.grossCents(2));
+        assertEquals(6, cart.beerQuantity(Country.GERMANY));
+        assertEquals(150, cart.vegetableWeight());
+        assertEquals(2, cart.rowOf(vegetable));
+    }
+
+    @Test
+    void testAcquire_shouldNotLeakRowsFromPreviousCart() {
+        List<OrderItemDto> large = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            Vegetable veg = new Vegetable();
+            veg.setId(id);
+            veg.setPricePer100GramsCents(100);
+            large.add(new OrderItemDto(veg, 100));
+        }
+        CartColumns.acquire(large, PricingSnapshot.of(today, DiscountRules.defaults())).release();
+
+        CartColumns cart = CartColumns.acquire(List.of(new OrderItemDto(vegetable, 100)), PricingSnapshot.of(today, DiscountRules.defaults()));
+
+        assertEquals(1, cart.size());
+        assertEquals(100, cart.vegetableWeight());
+        assertEquals(120, cart.vegetableGross());
+        assertEquals(0, cart.vegetableGrossBefore(0));
+        cart.release();
+    }
+
+    @Test
+    void testRelease_shouldHandTheBuffersToTheNextCartOnAnyThread() throws Exception {
+        PricingSnapshot snapshot = PricingSnapshot.of(today, DiscountRules.defaults());
+        CartColumns first = CartColumns.acquire(List.of(new OrderItemDto(beer, 1)), snapshot);
+        first.release();
+        // a second release must not put the instance in the pool twice
+        first.release();
+
+        AtomicReference<CartColumns> onVirtualThread = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> onVirtualThread.set(CartColumns.acquire(snapshot))).join();
+        CartColumns second = CartColumns.acquire(snapshot);
+
+        assertSame(first, onVirtualThread.get());
+        assertNotSame(first, second);
+        onVirtualThread.get().release();
+        second.release();
+    }
+
+    @Test
+    void testAcquireEmpty_shouldKeepAggregatesCurrentWhileLinesArrive() {
+        CartColumns cart = CartColumns.acquire(PricingSnapshot.of(today, DiscountRules.defaults()));
+        try {
+            cart.add(new OrderItemDto(beer, 2));
+            cart.add(new OrderItemDto(vegetable, 150));
+            assertEquals(2, cart.beerQuantity(Country.GERMANY));
+            assertEquals(150, cart.vegetableWeight());
+
+            cart.add(new OrderItemDto(beer, 4));
+            cart.complete();
+
+            assertEquals(2, cart.size());
+            assertEquals(3, cart.lineCount());
+            assertEquals(6, cart.beerQuantity(Country.GERMANY));
+            assertEquals(2400, cart.grossCents(0));
+            assertEquals(180, cart.vegetableGross());
+        } finally {
+            cart.release();
+        }
+    }
+
+    @Test
+    void testLoad_amountAtTheBound_shouldPriceWithoutOverflow() {
+        beer.setPriceCents(1_000_000_000L);
+        CartColumns cart = CartColumns.of(List.of(
+                new OrderItemDto(beer, OrderRequestDto.MAX_AMOUNT - 1),
+                new OrderItemDto(beer, 1)
+        ), PricingSnapshot.of(today, DiscountRules.defaults()));
+
+        assertEquals(OrderRequestDto.MAX_AMOUNT, cart.amount(0));
+        assertEquals(1_000_000_000_000_000L, cart.grossCents(0));
+    }
+
+    @Test
+    void testLoad_amountAboveTheBound_shouldBeRejected() {
+        PricingSnapshot snapshot = PricingSnapshot.of(today, DiscountRules.defaults());
+
+        assertThrows(IllegalArgumentException.class, () -> CartColumns.of(List.of(
+                new OrderItemDto(vegetable, OrderRequestDto.MAX_AMOUNT),
+                new OrderItemDto(vegetable, 1)
+        ), snapshot));
+        assertThrows(IllegalArgumentException.class, () -> CartColumns.of(List.of(
+                new OrderItemDto(beer, Integer.MAX_VALUE),
+                new OrderItemDto(beer, Integer.MAX_VALUE)
+        ), snapshot));
+    }
+
+    @Test
+    void testLoad_amountBelowOne_shouldBeRejected() {
+        PricingSnapshot snapshot = PricingSnapshot.of(today, DiscountRules.defaults());
+
+        assertThrows(IllegalArgumentException.class, () -> CartColumns.of(List.of(new OrderItemDto(beer, 0)), snapshot));
+        assertThrows(IllegalArgumentException.class, () -> CartColumns.of(List.of(
+                new OrderItemDto(beer, 6),
+                new OrderItemDto(beer, -6)
+        ), snapshot));
+    }
+
+    @Test
+    void testLoad_grossBeyondLong_shouldFailInsteadOfWrapping() {
+        beer.setPriceCents(Long.MAX_VALUE / 2);
+
+        assertThrows(IllegalArgumentException.class, () -> CartColumns.of(List.of(new OrderItemDto(beer, 3)),
+                PricingSnapshot.of(today, DiscountRules.defaults())));
+    }
+}
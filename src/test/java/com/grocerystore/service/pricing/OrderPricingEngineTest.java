@@ -0,0 +1,157 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.dto.OrderItemDto;
+import com.grocerystore.dto.OrderLineSummaryDto;
+import com.grocerystore.enums.Country;
+import com.grocerystore.model.Beer;
+import com.grocerystore.model.Bread;
+import com.grocerystore.model.Vegetable;
+import com.grocerystore.service.discount.BeerDiscount;
+import com.grocerystore.service.discount.BreadDiscount;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.DiscountRules;
+import com.grocerystore.service.discount.VegetableDiscount;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderPricingEngineTest {
+
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final PricingSnapshots pricingSnapshots = new PricingSnapshots(discountRuleRegistry, Clock.systemDefaultZone());
+
+    private SimpleMeterRegistry registry;
+    private OrderPricingEngine engine;
+    private Beer duvel;
+    private Beer westmalle;
+    private Bread bread;
+    private Vegetable broccoli;
+    private Vegetable carrot;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        engine = new OrderPricingEngine(List.of(
+                new BeerDiscount(pricingSnapshots),
+                new BreadDiscount(pricingSnapshots),
+                new VegetableDiscount(pricingSnapshots)
+        ), pricingSnapshots, new PricingMetrics(registry));
+
+        duvel = new Beer();
+        duvel.setId(1L);
+        duvel.setName("Duvel");
+        duvel.setCountry(Country.BELGIUM);
+        duvel.setPriceCents(500);
+
+        westmalle = new Beer();
+        westmalle.setId(2L);
+        westmalle.setName("Westmalle");
+        westmalle.setCountry(Country.BELGIUM);
+        westmalle.setPriceCents(600);
+
+        bread = new Bread();
+        bread.setId(1L);
+        bread.setName("White Bread");
+        bread.setPriceCents(500);
+        bread.setBakingDate(LocalDate.now().minusDays(3));
+
+        broccoli = new Vegetable();
+        broccoli.setId(1L);
+        broccoli.setName("Broccoli");
+        broccoli.setPricePer100GramsCents(150);
+
+        carrot = new Vegetable();
+        carrot.setId(2L);
+        carrot.setName("Carrot");
+        carrot.setPricePer100GramsCents(100);
+    }
+
+    @Test
+    void testDuplicateLines_shouldBeMergedBeforePricing() {
+        List<OrderLineSummaryDto> receipt = engine.price(List.of(
+                new OrderItemDto(bread, 1),
+                new OrderItemDto(bread, 1)
+        ));
+
+        // 2 breads of 3 days old = 1 free
+        assertEquals(1, receipt.size());
+        assertEquals("2 x White Bread", receipt.getFirst().description());
+        assertEquals(5.0, receipt.getFirst().total(), 0.001);
+    }
+
+    @Test
+    void testBeerPacks_shouldBeCountedPerCountryAcrossLines() {
+        List<OrderLineSummaryDto> receipt = engine.price(List.of(
+                new OrderItemDto(duvel, 4),
+                new OrderItemDto(westmalle, 2)
+        ));
+
+        // 6 Belgian beers = 1 pack * 3.0, shared 4:2 over the two lines
+        assertEquals(20.0 - 2.0, receipt.get(0).total(), 0.001);
+        assertEquals(12.0 - 1.0, receipt.get(1).total(), 0.001);
+    }
+
+    @Test
+    void testVegetableTier_shouldUseTotalVegetableWeight() {
+        List<OrderLineSummaryDto> receipt = engine.price(List.of(
+                new OrderItemDto(broccoli, 300),
+                new OrderItemDto(carrot, 250)
+        ));
+
+        // 550g in total = 10% on every vegetable line
+        assertEquals(4.05, receipt.get(0).total(), 0.001);
+        assertEquals(2.25, receipt.get(1).total(), 0.001);
+    }
+
+    @Test
+    void testReceipt_shouldKeepFirstSeenLineOrder() {
+        List<OrderLineSummaryDto> receipt = engine.price(List.of(
+                new OrderItemDto(carrot, 100),
+                new OrderItemDto(duvel, 1),
+                new OrderItemDto(carrot, 100)
+        ));
+
+        assertEquals(List.of("200g Carrot", "1 x Duvel (BELGIUM)"),
+                receipt.stream().map(OrderLineSummaryDto::description).toList());
+    }
+
+    @Test
+    void testDiscountTimers_shouldRecordOncePerStrategyOfTypesInCart() {
+        engine.price(List.of(
+                new OrderItemDto(duvel, 6),
+                new OrderItemDto(westmalle, 1),
+                new OrderItemDto(carrot, 100)
+        ));
+
+        Timer beerTimer = registry.get(PricingMetrics.DISCOUNT_TIMER)
+                .tags("item.type", "BEER", "cart.size", "1-9")
+                .timer();
+        Timer breadTimer = registry.get(PricingMetrics.DISCOUNT_TIMER)
+                .tags("item.type", "BREAD", "cart.size", "1-9")
+                .timer();
+        Timer vegetableTimer = registry.get(PricingMetrics.DISCOUNT_TIMER)
+                .tags("item.type", "VEGETABLE", "cart.size", "1-9")
+                .timer();
+        assertEquals(1, beerTimer.count());
+        assertEquals(0, breadTimer.count());
+        assertEquals(1, vegetableTimer.count());
+    }
+
+    @Test
+    void testPublishedRules_shouldApplyToTheNextOrder() {
+        discountRuleRegistry.publish(DiscountRules.compile(
+                List.of(new DiscountRules.BeerPack(Country.BELGIUM, 2, 100)), List.of(), List.of()));
+
+        List<OrderLineSummaryDto> receipt = engine.price(List.of(new OrderItemDto(duvel, 4)));
+
+        // 2 packs of 2 * 1.0
+        assertEquals(20.0 - 2.0, receipt.getFirst().total(), 0.001);
+    }
+}
@@ -0,0 +1,102 @@
+package com.grocerystore.service.pricing;
+
+import com.grocerystore.enums.Country;
+import com.grocerystore.service.discount.DiscountRuleRegistry;
+import com.grocerystore.service.discount.DiscountRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PricingSnapshotsTest {
+
+    private final DiscountRuleRegistry discountRuleRegistry = new DiscountRuleRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-10T23:59:59Z"));
+
+    private PricingSnapshots pricingSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        pricingSnapshots = new PricingSnapshots(discountRuleRegistry, clock);
+    }
+
+    @Test
+    void testCurrent_shouldBeReusedWithinTheDay() {
+        PricingSnapshot first = pricingSnapshots.current();
+
+        assertEquals(LocalDate.of(2026, 1, 10), first.date());
+        assertSame(first, pricingSnapshots.current());
+    }
+
+    @Test
+    void testCurrent_shouldRollOverAtMidnight() {
+        PricingSnapshot before = pricingSnapshots.current();
+
+        clock.instant = Instant.parse("2026-01-11T00:00:00Z");
+        PricingSnapshot after = pricingSnapshots.current();
+
+        assertEquals(LocalDate.of(2026, 1, 11), after.date());
+        // a loaf baked six days ago becomes unsellable, and one baked three days ago changes tier
+        long bakedOnSeventh = LocalDate.of(2026, 1, 7).toEpochDay();
+        assertTrue(before.isSellable(LocalDate.of(2026, 1, 4)));
+        assertFalse(after.isSellable(LocalDate.of(2026, 1, 4)));
+        assertEquals(1, before.breadFreeItems(before.epochDay() - bakedOnSeventh, 2));
+        assertEquals(0, after.breadFreeItems(after.epochDay() - bakedOnSeventh, 2));
+    }
+
+    @Test
+    void testCurrent_shouldPickUpPublishedRules() {
+        PricingSnapshot before = pricingSnapshots.current();
+        DiscountRules rules = DiscountRules.compile(
+                List.of(new DiscountRules.BeerPack(Country.BELGIUM, 2, 100)), List.of(), List.of());
+
+        discountRuleRegistry.publish(rules);
+
+        assertNotSame(rules, before.rules());
+        assertSame(rules, pricingSnapshots.current().rules());
+    }
+
+    @Test
+    void testBreadFreeItems_shouldMatchTheRulesForEveryAge() {
+        PricingSnapshot snapshot = PricingSnapshot.of(LocalDate.of(2026, 1, 10), DiscountRules.defaults());
+
+        for (long age = -1; age <= 10; age++) {
+            assertEquals(DiscountRules.defaults().breadFreeItems(age, 7), snapshot.breadFreeItems(age, 7));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.grocerystore.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LikePatternTest {
+
+    @Test
+    void testStartsWith_shouldAppendWildcard() {
+        assertEquals("Duv%", LikePattern.startsWith("Duv"));
+    }
+
+    @Test
+    void testStartsWith_shouldEscapeWildcardsInPrefix() {
+        assertEquals("50\\%\\_off\\\\%", LikePattern.startsWith("50%_off\\"));
+    }
+
+    @Test
+    void testStartsWith_shouldReturnNullForBlankPrefix() {
+        assertNull(LikePattern.startsWith(null));
+        assertNull(LikePattern.startsWith("  "));
+    }
+}
@@ -0,0 +1,63 @@
+package com.grocerystore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongKeyedMapTest {
+
+    @Test
+    void testOf_shouldFindEveryValueByKey() {
+        List<String> values = LongStream.rangeClosed(1, 1000).mapToObj(id -> "item-" + id).toList();
+
+        LongKeyedMap<String> map = LongKeyedMap.of(values, value -> Long.parseLong(value.substring(5)));
+
+        assertEquals(1000, map.size());
+        assertEquals("item-1", map.get(1));
+        assertEquals("item-1000", map.get(1000));
+        assertNull(map.get(0));
+        assertNull(map.get(1001));
+    }
+
+    @Test
+    void testOf_duplicateKeys_shouldKeepTheLastValue() {
+        LongKeyedMap<String> map = LongKeyedMap.of(List.of("a1", "b1", "a2"), value -> value.charAt(0));
+
+        assertEquals(2, map.size());
+        assertEquals("b1", map.get('b'));
+        assertEquals("a2", map.get('a'));
+    }
+
+    @Test
+    void testWithAndWithout_shouldLeaveTheOriginalUntouched() {
+        LongKeyedMap<String> original = LongKeyedMap.<String>empty().with(1, "one").with(2, "two");
+
+        LongKeyedMap<String> replaced = original.with(2, "TWO");
+        LongKeyedMap<String> removed = original.without(1);
+
+        assertEquals("two", original.get(2));
+        assertEquals("TWO", replaced.get(2));
+        assertEquals(2, replaced.size());
+        assertNull(removed.get(1));
+        assertEquals("two", removed.get(2));
+        assertEquals(1, removed.size());
+        assertEquals(2, original.size());
+        assertSame(original, original.without(3));
+    }
+
+    @Test
+    void testForEachValue_shouldVisitEveryValueOnce() {
+        LongKeyedMap<Long> map = LongKeyedMap.of(List.of(-5L, 0L, 7L, Long.MAX_VALUE), Long::longValue);
+
+        List<Long> visited = new ArrayList<>();
+        map.forEachValue(visited::add);
+
+        assertEquals(4, visited.size());
+        assertTrue(visited.containsAll(List.of(-5L, 0L, 7L, Long.MAX_VALUE)));
+        assertEquals(0L, map.get(0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.grocerystore.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void testToCents_shouldRoundDecimalEurosHalfUp() {
+        assertEquals(500, Money.toCents(5.0));
+        assertEquals(101, Money.toCents(1.005));
+        assertEquals(1999, Money.toCents(19.99));
+    }
+
+    @Test
+    void testPerHundredGrams_shouldRoundHalfUp() {
+        // 1.50 per 100g * 333g = 4.995
+        assertEquals(500, Money.perHundredGrams(150, 333));
+        // 1.50 per 100g * 331g = 4.965
+        assertEquals(497, Money.perHundredGrams(150, 331));
+    }
+
+    @Test
+    void testPercentage_shouldRoundHalfUp() {
+        assertEquals(32, Money.percentage(450, 700));
+        assertEquals(31, Money.percentage(440, 700));
+    }
+
+    @Test
+    void testShare_shouldAddUpToTotal() {
+        long total = 100;
+        long first = Money.share(total, 0, 1, 3);
+        long second = Money.share(total, 1, 1, 3);
+        long third = Money.share(total, 2, 1, 3);
+
+        assertEquals(33, first);
+        assertEquals(33, second);
+        assertEquals(34, third);
+        assertEquals(total, first + second + third);
+    }
+
+    @Test
+    void testPercentage_productBeyondLong_shouldStillBeExact() {
+        long cents = Long.MAX_VALUE / 1_000;
+
+        assertEquals(645_636_042_579_834L, Money.percentage(cents, 700));
+    }
+
+    @Test
+    void testShare_productBeyondLong_shouldStillAddUpToTotal() {
+        // a vegetable discount shared by cumulative gross: roughly gross squared
+        long total = 2_000_000_000_000L;
+        long gross = 3_000_000_000_000L;
+        long first = Money.share(total, 0, gross, 3 * gross);
+        long second = Money.share(total, gross, gross, 3 * gross);
+        long third = Money.share(total, 2 * gross, gross, 3 * gross);
+
+        assertEquals(666_666_666_666L, first);
+        assertEquals(666_666_666_667L, second);
+        assertEquals(666_666_666_667L, third);
+        assertEquals(total, first + second + third);
+    }
+
+    @Test
+    void testPerHundredGrams_resultBeyondLong_shouldFail() {
+        assertThrows(ArithmeticException.class, () -> Money.perHundredGrams(Long.MAX_VALUE, 1_000));
+    }
+}